@@ -0,0 +1,163 @@
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptives Concurrency-Limit nach dem AIMD-Prinzip (Additive Increase, Multiplicative Decrease).
+ *
+ * - Jede erfolgreiche Operation unterhalb der Latenzschwelle erhöht das Limit um 1/limit.
+ * - Eine zu langsame Operation (auch ein Statement-Timeout) senkt das Limit um den Backoff-Faktor.
+ * - Ist das Limit erreicht, wartet ein Aufrufer höchstens maxWaitMillis und wird dann abgewiesen.
+ *
+ * Dadurch stauen sich bei einer langsamen Datenbank keine Threads an, sondern
+ * überzählige Anfragen schlagen schnell fehl.
+ */
+public class AdaptiveLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+    private final double backoffFactor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    // Alle Felder ab hier werden nur unter "lock" verändert
+    private double limit;
+    private int inFlight;
+    private long accepted;
+    private long rejected;
+    private long slow;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                           long latencyThresholdMillis, long maxWaitMillis, double backoffFactor) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Ungültige Limits: min=" + minLimit + ", max=" + maxLimit);
+        }
+        if (backoffFactor <= 0 || backoffFactor >= 1) {
+            throw new IllegalArgumentException("Backoff-Faktor muss zwischen 0 und 1 liegen: " + backoffFactor);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.backoffFactor = backoffFactor;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Versucht, einen Slot zu belegen. Wartet höchstens maxWaitMillis.
+     *
+     * @return true, wenn ein Slot belegt wurde; false, wenn abgewiesen
+     * @throws InterruptedException falls der Thread beim Warten unterbrochen wird
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = maxWaitNanos;
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    rejected++;
+                    return false;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            accepted++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gibt einen Slot frei und passt das Limit anhand der gemessenen Latenz an.
+     *
+     * @param latencyNanos Dauer der Operation
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (latencyNanos > latencyThresholdNanos) {
+                slow++;
+                limit = Math.max(minLimit, limit * backoffFactor);
+            } else if (inFlight + 1 >= (int) limit) {
+                // Nur erhöhen, wenn das Limit tatsächlich ausgeschöpft wurde
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getAccepted() {
+        lock.lock();
+        try {
+            return accepted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getSlow() {
+        lock.lock();
+        try {
+            return slow;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        lock.lock();
+        try {
+            return "AdaptiveLimiter{" +
+                    "name='" + name + '\'' +
+                    ", limit=" + (int) limit +
+                    ", inFlight=" + inFlight +
+                    ", accepted=" + accepted +
+                    ", rejected=" + rejected +
+                    ", slow=" + slow +
+                    '}';
+        } finally {
+            lock.unlock();
+        }
+    }
+}
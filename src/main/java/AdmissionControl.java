@@ -0,0 +1,217 @@
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Admission Control für die DAO-Schicht.
+ *
+ * Jede DAO-Operation gehört zu einer Operationsklasse (READ, WRITE oder SCAN).
+ * Pro Klasse gibt es ein eigenes adaptives Concurrency-Limit und einen eigenen
+ * Statement-Timeout. Ist das Limit erreicht, wird die Operation mit einer
+ * {@link OverloadException} abgewiesen, statt unbegrenzt zu warten.
+ *
+ * Konfiguration über System-Properties (Standardwerte in Klammern),
+ * jeweils mit Präfix "dao.read.", "dao.write." bzw. "dao.scan.":
+ * - timeoutSeconds (5 / 10 / 0): Statement-Timeout, 0 = kein Timeout
+ * - initialLimit (16 / 8 / 2): Start-Limit
+ * - minLimit (1 / 1 / 1), maxLimit (64 / 32 / 2): Grenzen für das adaptive Limit
+ * - latencyThresholdMillis (200 / 500 / 3600000): ab dieser Latenz wird das Limit gesenkt
+ * - maxWaitMillis (50 / 50 / 50): maximale Wartezeit auf einen freien Slot
+ * - backoff (0.9 / 0.9 / 0.9): Faktor beim Senken des Limits
+ */
+public class AdmissionControl {
+    private static final Logger logger = Logger.getLogger(AdmissionControl.class.getName());
+
+    /**
+     * Operationsklassen mit getrennten Limits.
+     * SCAN ist für lange Analyse-Läufe über ganze Tabellen gedacht, damit diese
+     * weder in den READ-Timeout laufen noch das READ-Limit nach unten ziehen.
+     */
+    public enum Operation {
+        READ, WRITE, SCAN
+    }
+
+    private static final AdmissionControl SHARED = fromSystemProperties();
+
+    private final AdaptiveLimiter readLimiter;
+    private final AdaptiveLimiter writeLimiter;
+    private final AdaptiveLimiter scanLimiter;
+    private final int readTimeoutSeconds;
+    private final int writeTimeoutSeconds;
+    private final int scanTimeoutSeconds;
+
+    public AdmissionControl(AdaptiveLimiter readLimiter, int readTimeoutSeconds,
+                            AdaptiveLimiter writeLimiter, int writeTimeoutSeconds,
+                            AdaptiveLimiter scanLimiter, int scanTimeoutSeconds) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.scanLimiter = scanLimiter;
+        this.readTimeoutSeconds = readTimeoutSeconds;
+        this.writeTimeoutSeconds = writeTimeoutSeconds;
+        this.scanTimeoutSeconds = scanTimeoutSeconds;
+    }
+
+    /**
+     * Gemeinsame Instanz für alle DAOs, die ohne eigene Admission Control erstellt werden.
+     */
+    public static AdmissionControl shared() {
+        return SHARED;
+    }
+
+    /**
+     * Erstellt eine Admission Control aus den System-Properties (siehe Klassenbeschreibung).
+     */
+    public static AdmissionControl fromSystemProperties() {
+        return new AdmissionControl(
+                limiterFromProperties("read", 16, 64, 200),
+                Integer.getInteger("dao.read.timeoutSeconds", 5),
+                limiterFromProperties("write", 8, 32, 500),
+                Integer.getInteger("dao.write.timeoutSeconds", 10),
+                limiterFromProperties("scan", 2, 2, 3_600_000),
+                Integer.getInteger("dao.scan.timeoutSeconds", 0)
+        );
+    }
+
+    private static AdaptiveLimiter limiterFromProperties(String prefix, int initialLimit, int maxLimit,
+                                                         long latencyThresholdMillis) {
+        String p = "dao." + prefix + ".";
+        return new AdaptiveLimiter(
+                prefix,
+                Integer.getInteger(p + "initialLimit", initialLimit),
+                Integer.getInteger(p + "minLimit", 1),
+                Integer.getInteger(p + "maxLimit", maxLimit),
+                Long.getLong(p + "latencyThresholdMillis", latencyThresholdMillis),
+                Long.getLong(p + "maxWaitMillis", 50L),
+                Double.parseDouble(System.getProperty(p + "backoff", "0.9"))
+        );
+    }
+
+    /**
+     * Belegt einen Slot der Operationsklasse. Gedacht für try-with-resources:
+     * der Slot wird beim Schließen des Permits wieder freigegeben.
+     *
+     * @param operation Operationsklasse
+     * @return Permit für genau eine Operation
+     * @throws OverloadException wenn innerhalb der Wartezeit kein Slot frei wurde
+     * @throws SQLException falls das Warten unterbrochen wird
+     */
+    public Permit acquire(Operation operation) throws SQLException {
+        AdaptiveLimiter limiter = limiterFor(operation);
+
+        try {
+            if (!limiter.tryAcquire()) {
+                logger.log(Level.FINE, "Operation abgewiesen: {0}", limiter);
+                throw new OverloadException(operation, limiter.getLimit());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf DAO-Slot wurde unterbrochen.", e);
+        }
+
+        return new Permit(limiter, timeoutFor(operation));
+    }
+
+    /**
+     * Variante von {@link #acquire(Operation)} für Hintergrundjobs (Purge, Archivieren,
+     * Migration): Bei Überlast wird nicht abgebrochen, sondern kurz gewartet. Der Aufrufer
+     * versucht es danach erneut und kann dabei z.B. sein Zeitbudget prüfen.
+     *
+     * @param operation Operationsklasse
+     * @param retryPauseMillis Wartezeit bei Überlast (mindestens 100 ms)
+     * @return Permit oder null, wenn abgewiesen und bereits gewartet wurde
+     * @throws SQLException falls das Warten unterbrochen wird
+     */
+    public Permit acquireOrPause(Operation operation, long retryPauseMillis) throws SQLException {
+        try {
+            return acquire(operation);
+        } catch (OverloadException e) {
+            pause(Math.max(retryPauseMillis, 100));
+            return null;
+        }
+    }
+
+    /**
+     * Pausiert einen Hintergrundjob zwischen zwei Blöcken (Drosselung).
+     *
+     * @param millis Pause in Millisekunden, 0 oder weniger = keine Pause
+     * @throws SQLException falls das Warten unterbrochen wird
+     */
+    public static void pause(long millis) throws SQLException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Hintergrundjob wurde unterbrochen.", e);
+        }
+    }
+
+    public AdaptiveLimiter limiterFor(Operation operation) {
+        switch (operation) {
+            case READ:
+                return readLimiter;
+            case WRITE:
+                return writeLimiter;
+            default:
+                return scanLimiter;
+        }
+    }
+
+    private int timeoutFor(Operation operation) {
+        switch (operation) {
+            case READ:
+                return readTimeoutSeconds;
+            case WRITE:
+                return writeTimeoutSeconds;
+            default:
+                return scanTimeoutSeconds;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionControl{" +
+                "read=" + readLimiter +
+                ", write=" + writeLimiter +
+                ", scan=" + scanLimiter +
+                '}';
+    }
+
+    /**
+     * Ein belegter Slot. Misst die Dauer bis zum Schließen und meldet sie an den Limiter.
+     */
+    public static final class Permit implements AutoCloseable {
+        private final AdaptiveLimiter limiter;
+        private final int timeoutSeconds;
+        private final long start = System.nanoTime();
+        private boolean closed;
+
+        private Permit(AdaptiveLimiter limiter, int timeoutSeconds) {
+            this.limiter = limiter;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        /**
+         * Setzt den Statement-Timeout der Operationsklasse.
+         *
+         * @param statement das auszuführende Statement
+         * @throws SQLException falls der Timeout nicht gesetzt werden kann
+         */
+        public void applyTimeout(Statement statement) throws SQLException {
+            if (timeoutSeconds > 0) {
+                statement.setQueryTimeout(timeoutSeconds);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLDataException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Transparente Komprimierung von Post-Inhalten.
+ *
+ * Inhalte ab einer konfigurierbaren Länge werden mit Deflate (schnellste Stufe)
+ * komprimiert. Da die Spalte "content" eine Textspalte ist, wird das Ergebnis
+ * Base64-kodiert und mit einer Markierung versehen:
+ *
+ * <pre>
+ * &lt;U+0001&gt;z1:&lt;Länge der UTF-8-Bytes&gt;:&lt;Base64(Deflate)&gt;
+ * </pre>
+ *
+ * Inhalte ohne Markierung werden unverändert zurückgegeben, alte Zeilen bleiben
+ * also lesbar. Lohnt sich die Komprimierung nicht (Ergebnis nicht kürzer), wird
+ * der Klartext gespeichert. Beginnt ein Klartext selbst mit U+0001, wird er mit
+ * {@link #PLAIN_MARKER} maskiert, damit er nie als komprimiert gelesen wird.
+ *
+ * Deflater, Inflater und Puffer werden pro Thread wiederverwendet, damit das
+ * Dekomprimieren beim Lesen keine zusätzlichen Puffer pro Zeile anlegt. Puffer über
+ * {@link #MAX_SCRATCH_BYTES} werden nur für den einzelnen Aufruf angelegt und nicht behalten.
+ *
+ * Konfiguration über System-Properties:
+ * - post.compression.threshold (1024): Mindestlänge in Zeichen, darunter keine Komprimierung
+ * - post.compression.level (1): Deflate-Stufe 1 (schnell) bis 9 (klein)
+ */
+public class ContentCodec {
+
+    /**
+     * Markierung für komprimierte Inhalte (Format-Version 1).
+     */
+    public static final String MARKER = "\u0001z1:";
+
+    /**
+     * Markierung für maskierten Klartext, der selbst mit U+0001 beginnt.
+     */
+    public static final String PLAIN_MARKER = "\u0001p:";
+
+    private static final char ESCAPE = MARKER.charAt(0);
+
+    /**
+     * Größte Pufferlänge, die ein Thread zwischen zwei Aufrufen behält.
+     */
+    public static final int MAX_SCRATCH_BYTES = 1 << 20;
+
+    // Deflate erreicht höchstens etwa 1032:1; größere Längenangaben sind beschädigt
+    private static final int MAX_DEFLATE_RATIO = 1032;
+
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(BASE64_VALUES, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_VALUES[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final ContentCodec SHARED = fromSystemProperties();
+
+    private final int threshold;
+    private final int level;
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * @param threshold Mindestlänge in Zeichen für die Komprimierung
+     * @param level Deflate-Stufe (1 bis 9)
+     */
+    public ContentCodec(int threshold, int level) {
+        if (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Ungültige Kompressionsstufe: " + level);
+        }
+        this.threshold = Math.max(1, threshold);
+        this.level = level;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(this.level));
+    }
+
+    /**
+     * Gemeinsame Instanz für alle DAOs, die ohne eigenen Codec erstellt werden.
+     */
+    public static ContentCodec shared() {
+        return SHARED;
+    }
+
+    /**
+     * Erstellt einen Codec aus den System-Properties (siehe Klassenbeschreibung).
+     */
+    public static ContentCodec fromSystemProperties() {
+        return new ContentCodec(
+                Integer.getInteger("post.compression.threshold", 1024),
+                Integer.getInteger("post.compression.level", Deflater.BEST_SPEED)
+        );
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(MARKER);
+    }
+
+    /**
+     * @return true, wenn der gespeicherte Wert bereits von {@link #encode(String)} erzeugt
+     *         wurde (komprimiert oder maskiert) und nicht erneut kodiert werden darf
+     */
+    public static boolean isEncoded(String stored) {
+        return isCompressed(stored) || (stored != null && stored.startsWith(PLAIN_MARKER));
+    }
+
+    /**
+     * Bereitet einen Inhalt zum Speichern vor (komprimiert, falls lang genug und lohnend).
+     * Jeder Klartext ist erlaubt, auch einer, der wie ein kodierter Wert aussieht.
+     *
+     * @param content Klartext, darf null sein
+     * @return zu speichernder Wert
+     */
+    public String encode(String content) {
+        if (content == null) {
+            return null;
+        }
+        if (content.length() >= threshold) {
+            String compressed = compress(content);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        return !content.isEmpty() && content.charAt(0) == ESCAPE ? PLAIN_MARKER + content : content;
+    }
+
+    /**
+     * @return komprimierter, markierter Wert oder null, wenn er nicht kürzer als der Klartext ist
+     */
+    private String compress(String content) {
+        byte[] plain = content.getBytes(StandardCharsets.UTF_8);
+        Scratch s = scratch.get();
+        Deflater deflater = s.deflater;
+        deflater.reset();
+        deflater.setInput(plain);
+        deflater.finish();
+
+        byte[] out = s.compressedBuffer(plain.length / 2 + 64);
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == out.length) {
+                out = s.growCompressed(out, out.length * 2);
+            }
+            length += deflater.deflate(out, length, out.length - length);
+        }
+
+        String header = MARKER + plain.length + ":";
+        int encodedLength = header.length() + 4 * ((length + 2) / 3);
+        if (encodedLength >= content.length()) {
+            return null;
+        }
+        return header + Base64.getEncoder().encodeToString(Arrays.copyOf(out, length));
+    }
+
+    /**
+     * Stellt einen gespeicherten Inhalt wieder her. Unmarkierte Werte werden unverändert zurückgegeben.
+     *
+     * @param stored Wert aus der Datenbank, darf null sein
+     * @return Klartext
+     * @throws SQLDataException wenn ein markierter Wert beschädigt ist
+     */
+    public String decode(String stored) throws SQLDataException {
+        if (!isCompressed(stored)) {
+            return stored != null && stored.startsWith(PLAIN_MARKER)
+                    ? stored.substring(PLAIN_MARKER.length())
+                    : stored;
+        }
+
+        int sep = stored.indexOf(':', MARKER.length());
+        if (sep < 0) {
+            throw new SQLDataException("Komprimierter Inhalt ohne Längenangabe.");
+        }
+        int plainLength;
+        try {
+            plainLength = Integer.parseInt(stored, MARKER.length(), sep, 10);
+        } catch (NumberFormatException e) {
+            throw new SQLDataException("Ungültige Längenangabe im komprimierten Inhalt.", e);
+        }
+
+        Scratch s = scratch.get();
+        byte[] compressed = s.compressedBuffer((stored.length() - sep) * 3 / 4 + 3);
+        int compressedLength = decodeBase64(stored, sep + 1, compressed);
+
+        // Längenangabe nicht blind vertrauen: eine beschädigte Zeile darf keinen riesigen Puffer anfordern
+        if (plainLength < 0 || plainLength > (long) compressedLength * MAX_DEFLATE_RATIO) {
+            throw new SQLDataException("Ungültige Längenangabe im komprimierten Inhalt: " + plainLength);
+        }
+
+        byte[] plain = s.plainBuffer(plainLength);
+        Inflater inflater = s.inflater;
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        try {
+            int length = 0;
+            while (length < plainLength && !inflater.finished()) {
+                int n = inflater.inflate(plain, length, plainLength - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != plainLength) {
+                throw new SQLDataException("Komprimierter Inhalt ist unvollständig.");
+            }
+        } catch (DataFormatException e) {
+            throw new SQLDataException("Komprimierter Inhalt ist beschädigt.", e);
+        }
+        return new String(plain, 0, plainLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Dekodiert Base64 direkt aus dem String in den Zielpuffer, ohne Zwischenkopie.
+     *
+     * @return Anzahl der dekodierten Bytes
+     */
+    private static int decodeBase64(String src, int from, byte[] dst) throws SQLDataException {
+        int bits = 0;
+        int buffer = 0;
+        int length = 0;
+        for (int i = from; i < src.length(); i++) {
+            char c = src.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            int value = c < 128 ? BASE64_VALUES[c] : -1;
+            if (value < 0) {
+                throw new SQLDataException("Ungültiges Zeichen im komprimierten Inhalt.");
+            }
+            buffer = ((buffer << 6) | value) & 0xFFFF;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                dst[length++] = (byte) (buffer >> bits);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Wiederverwendbare Objekte eines Threads.
+     */
+    private static final class Scratch {
+        final Deflater deflater;
+        final Inflater inflater = new Inflater(true);
+        byte[] compressed = new byte[4096];
+        byte[] plain = new byte[8192];
+
+        Scratch(int level) {
+            this.deflater = new Deflater(level, true);
+        }
+
+        /**
+         * Puffer für komprimierte Daten; der bisherige Inhalt bleibt nicht erhalten.
+         */
+        byte[] compressedBuffer(int size) {
+            if (size > MAX_SCRATCH_BYTES) {
+                return new byte[size];
+            }
+            if (compressed.length < size) {
+                compressed = new byte[Math.min(MAX_SCRATCH_BYTES, Math.max(size, compressed.length * 2))];
+            }
+            return compressed;
+        }
+
+        /**
+         * Vergrößert current auf mindestens size Bytes und behält den Inhalt.
+         */
+        byte[] growCompressed(byte[] current, int size) {
+            byte[] grown = Arrays.copyOf(current, size);
+            if (size <= MAX_SCRATCH_BYTES) {
+                compressed = grown;
+            }
+            return grown;
+        }
+
+        byte[] plainBuffer(int size) {
+            if (size > MAX_SCRATCH_BYTES) {
+                return new byte[size];
+            }
+            if (plain.length < size) {
+                plain = new byte[Math.min(MAX_SCRATCH_BYTES, Math.max(size, plain.length * 2))];
+            }
+            return plain;
+        }
+    }
+}
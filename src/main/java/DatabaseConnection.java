@@ -10,7 +10,7 @@ public class DatabaseConnection {
 
     // Verwende Umgebungsvariablen für Production
     // Für Development können diese Werte verwendet werden
-    private static final String URL = "jdbc:mysql://localhost:3306/datenbankersatzleistung_db?useSSL=false&serverTimezone=UTC";
+    private static final String URL = "jdbc:mysql://localhost:3306/datenbankersatzleistung_db?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true";
     private static final String USER = "root";
     private static final String PASSWORD = "";
 
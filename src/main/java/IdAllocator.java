@@ -0,0 +1,206 @@
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Vergibt IDs clientseitig nach dem Hi/Lo-Verfahren.
+ *
+ * Statt für jeden Insert die per AUTO_INCREMENT erzeugte ID abzufragen, reserviert
+ * der Allocator mit einem einzigen Statement einen Block von blockSize IDs in der
+ * Tabelle "id_sequence" und vergibt diese lock-frei im Speicher. Die ID ist damit
+ * schon vor dem Insert bekannt, was Batch- und Multi-Row-Inserts ermöglicht.
+ *
+ * Mehrere Anwendungsknoten sind sicher, weil das Reservieren ein atomares UPDATE
+ * auf der Sequenzzeile ist. Beim Beenden gibt {@link #close()} die restlichen IDs
+ * des aktuellen Blocks zurück, sofern seitdem kein anderer Knoten reserviert hat
+ * (für die gemeinsamen Allocatoren der DAOs: UserDAO/PostDAO.releaseSharedIds()).
+ * Ohne close() oder bei einem Absturz gehen pro Knoten höchstens diese IDs verloren.
+ *
+ * Voraussetzung: Alle Schreiber der Tabelle vergeben IDs über diesen Allocator.
+ *
+ * <pre>
+ * CREATE TABLE IF NOT EXISTS id_sequence (
+ *     name VARCHAR(64) PRIMARY KEY,
+ *     next_value BIGINT NOT NULL
+ * )
+ * </pre>
+ */
+public class IdAllocator implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(IdAllocator.class.getName());
+
+    private static volatile boolean schemaReady;
+
+    private final String name;
+    private final String seedSql;
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>(new Block(0, 0));
+    private final Object refillLock = new Object();
+    private volatile boolean seeded;
+
+    /**
+     * @param name Name der Sequenz (z.B. Tabellenname)
+     * @param seedSql Abfrage für die bisher größte ID, mit der die Sequenz beim ersten Mal startet
+     * @param blockSize Anzahl der IDs, die pro Datenbankzugriff reserviert werden
+     */
+    public IdAllocator(String name, String seedSql, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize muss mindestens 1 sein: " + blockSize);
+        }
+        this.name = name;
+        this.seedSql = seedSql;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Blockgröße aus der System-Property "id.blockSize" (Standard 100).
+     */
+    public static int defaultBlockSize() {
+        return Integer.getInteger("id.blockSize", 100);
+    }
+
+    /**
+     * Liefert die nächste freie ID. Nur wenn der aktuelle Block aufgebraucht ist,
+     * wird ein neuer aus der Datenbank reserviert.
+     *
+     * @return neue, eindeutige ID
+     * @throws SQLException falls kein neuer Block reserviert werden kann
+     */
+    public long next() throws SQLException {
+        while (true) {
+            Block block = current.get();
+            long id = block.next.getAndIncrement();
+            if (id < block.end) {
+                return id;
+            }
+            synchronized (refillLock) {
+                // Ein anderer Thread hat den Block eventuell schon ersetzt
+                if (current.get() == block) {
+                    current.set(reserveBlock());
+                }
+            }
+        }
+    }
+
+    /**
+     * Wie {@link #next()}, aber als int für die bestehenden int-Primärschlüssel.
+     *
+     * @throws SQLException falls kein Block reserviert werden kann oder die ID nicht in einen int passt
+     */
+    public int nextInt() throws SQLException {
+        long id = next();
+        if (id > Integer.MAX_VALUE) {
+            throw new SQLException("ID-Sequenz " + name + " hat den int-Bereich überschritten: " + id);
+        }
+        return (int) id;
+    }
+
+    /**
+     * Gibt die restlichen IDs des aktuellen Blocks zurück, falls seitdem niemand
+     * einen weiteren Block reserviert hat. Danach darf der Allocator weiter benutzt werden.
+     */
+    @Override
+    public void close() throws SQLException {
+        synchronized (refillLock) {
+            Block block = current.getAndSet(new Block(0, 0));
+            // Block versiegeln: Threads, die ihn noch in der Hand haben, bekommen keine ID mehr daraus
+            long unused = block.next.getAndSet(block.end);
+            if (unused >= block.end) {
+                return;
+            }
+
+            String sql = "UPDATE id_sequence SET next_value = ? WHERE name = ? AND next_value = ?";
+            try (Connection con = DatabaseConnection.connect();
+                 PreparedStatement ps = con.prepareStatement(sql)) {
+
+                ps.setLong(1, unused);
+                ps.setString(2, name);
+                ps.setLong(3, block.end);
+                if (ps.executeUpdate() > 0) {
+                    logger.log(Level.INFO, "{0} ungenutzte IDs der Sequenz {1} zurückgegeben",
+                            new Object[]{block.end - unused, name});
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserviert einen neuen Block. Läuft auf einer eigenen Verbindung im Auto-Commit,
+     * damit die Sequenzzeile nicht bis zum Ende einer Aufrufer-Transaktion gesperrt bleibt.
+     */
+    private Block reserveBlock() throws SQLException {
+        try (Connection con = DatabaseConnection.connect()) {
+            ensureSequence(con);
+
+            try (PreparedStatement ps = con.prepareStatement(
+                    "UPDATE id_sequence SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = ?")) {
+                ps.setInt(1, blockSize);
+                ps.setString(2, name);
+                if (ps.executeUpdate() == 0) {
+                    throw new SQLException("ID-Sequenz " + name + " existiert nicht.");
+                }
+            }
+
+            // LAST_INSERT_ID ist pro Verbindung und liefert den eben gesetzten Wert
+            try (Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT LAST_INSERT_ID()")) {
+                if (!rs.next()) {
+                    throw new SQLException("ID-Block für Sequenz " + name + " konnte nicht gelesen werden.");
+                }
+                long end = rs.getLong(1);
+                logger.log(Level.FINE, "ID-Block [{0}, {1}) für Sequenz {2} reserviert",
+                        new Object[]{end - blockSize, end, name});
+                return new Block(end - blockSize, end);
+            }
+        }
+    }
+
+    /**
+     * Legt Tabelle und Sequenzzeile an, falls nötig. Die Sequenz startet hinter der
+     * größten vorhandenen ID; INSERT IGNORE macht das für mehrere Knoten gleichzeitig sicher.
+     */
+    private void ensureSequence(Connection con) throws SQLException {
+        if (!schemaReady) {
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("CREATE TABLE IF NOT EXISTS id_sequence ("
+                        + "name VARCHAR(64) PRIMARY KEY, "
+                        + "next_value BIGINT NOT NULL)");
+            }
+            schemaReady = true;
+        }
+
+        if (!seeded) {
+            try (PreparedStatement ps = con.prepareStatement(
+                    "INSERT IGNORE INTO id_sequence (name, next_value) SELECT ?, (" + seedSql + ") + 1")) {
+                ps.setString(1, name);
+                ps.executeUpdate();
+            }
+            seeded = true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        Block block = current.get();
+        return "IdAllocator{" +
+                "name='" + name + '\'' +
+                ", blockSize=" + blockSize +
+                ", next=" + Math.min(block.next.get(), block.end) +
+                ", end=" + block.end +
+                '}';
+    }
+
+    /**
+     * Reservierter Bereich [start, end).
+     */
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-sicheres Latenz-Histogramm nach dem Vorbild von HdrHistogram.
+ *
+ * Werte (Nanosekunden) werden logarithmisch-linear einsortiert: jede Zweierpotenz
+ * ist in 128 gleich breite Unter-Buckets geteilt. Der relative Fehler eines
+ * Perzentils liegt damit unter 1 %, bei konstantem Speicher (ca. 57 KB).
+ *
+ * {@link #record(long)} ist lock-frei und kann von beliebig vielen Threads
+ * aufgerufen werden. Für Zeitreihen liefert {@link #snapshotAndReset()} die
+ * Werte seit dem letzten Aufruf.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS * (64 - SUB_BUCKET_BITS);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Erfasst eine Latenz.
+     *
+     * @param nanos Dauer in Nanosekunden (negative Werte werden als 0 gezählt)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Kopiert den aktuellen Stand in ein neues Histogramm und setzt dieses zurück.
+     * Werte, die währenddessen erfasst werden, landen entweder in der Kopie oder
+     * im nächsten Intervall, gehen aber nicht verloren.
+     */
+    public LatencyHistogram snapshotAndReset() {
+        LatencyHistogram copy = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.getAndSet(i, 0);
+            if (c != 0) {
+                copy.counts.set(i, c);
+                copy.totalCount.addAndGet(c);
+            }
+        }
+        copy.totalNanos.set(totalNanos.getAndSet(0));
+        copy.maxNanos.set(maxNanos.getAndSet(0));
+        return copy;
+    }
+
+    /**
+     * Addiert alle Werte eines anderen Histogramms zu diesem.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalNanos.addAndGet(other.totalNanos.get());
+        maxNanos.accumulateAndGet(other.maxNanos.get(), Math::max);
+    }
+
+    /**
+     * @param percentile Perzentil zwischen 0 und 100 (z.B. 99.9)
+     * @return Latenz in Nanosekunden, unter der der angegebene Anteil der Werte liegt
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalNanos.get() / count;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + sub;
+    }
+
+    private static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
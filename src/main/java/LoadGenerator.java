@@ -0,0 +1,440 @@
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lastgenerator und Soak-Test für UserDAO und PostDAO gegen eine lokale Datenbank.
+ *
+ * Ablauf:
+ * 1. Vorhandene User und Posts werden als Schlüsselmenge geladen; ist die Datenbank
+ *    leer, werden users * postsPerUser Testdaten angelegt.
+ * 2. threads Worker führen einen gewichteten Operations-Mix aus. Die Schlüssel
+ *    werden Zipf-verteilt gezogen (wenige heiße User/Posts, langer Schwanz).
+ * 3. Nach der Warm-up-Phase werden Latenzen pro Operation erfasst und alle
+ *    reportSeconds als Zeitreihe (Durchsatz, p50/p90/p99/p99.9/max) ausgegeben.
+ *    Durchsatz und Latenzen beziehen sich nur auf erfolgreiche Operationen;
+ *    abgewiesene (Overload) und fehlgeschlagene werden getrennt gezählt.
+ *
+ * Lastmodelle:
+ * - rate=0 (Standard): geschlossener Kreis, jeder Worker startet sofort die nächste Operation.
+ * - rate&gt;0: offener Kreis mit fester Zielrate (Operationen/s). Die Latenz wird ab dem
+ *   geplanten Startzeitpunkt gemessen, damit Rückstau sichtbar wird (Coordinated Omission).
+ *   Am Ende der Laufzeit wird keine neue Operation mehr gestartet, auch wenn der Rückstau
+ *   noch geplante Operationen enthält; der gemessene Durchsatz liegt dann unter der Zielrate.
+ *
+ * Alle Parameter werden als "key=value" übergeben, z.B.
+ * {@code threads=16 durationSeconds=300 mix=findUser:50,createPost:50}.
+ * Neu erstellte Posts werden nicht in die Schlüsselmenge aufgenommen.
+ */
+public class LoadGenerator {
+    private static final Logger logger = Logger.getLogger(LoadGenerator.class.getName());
+
+    // Starke Referenzen, damit die gesetzten Log-Level nicht mit den Loggern verloren gehen
+    private static final Logger USER_DAO_LOGGER = Logger.getLogger(UserDAO.class.getName());
+    private static final Logger POST_DAO_LOGGER = Logger.getLogger(PostDAO.class.getName());
+
+    // Maximale Wartezeit auf laufende Operationen nach dem Ende der Laufzeit
+    private static final long STOP_GRACE_SECONDS = 30;
+
+    /**
+     * Operationen des Lastmixes.
+     */
+    public enum Operation {
+        FIND_USER("findUser"),
+        FIND_POST("findPost"),
+        POSTS_BY_USER("postsByUser"),
+        COUNT_POSTS("countPosts"),
+        CREATE_POST("createPost"),
+        UPDATE_POST("updatePost");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation op : values()) {
+                if (op.key.equalsIgnoreCase(key)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unbekannte Operation im Mix: " + key);
+        }
+    }
+
+    /**
+     * Konfiguration des Lastlaufs.
+     */
+    public static class Config {
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        int reportSeconds = 5;
+        int threads = 8;
+        int rate = 0;
+        int users = 100;
+        int postsPerUser = 10;
+        double theta = 0.99;
+        boolean quiet = true;
+        final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+
+        Config() {
+            mix.put(Operation.FIND_USER, 30);
+            mix.put(Operation.FIND_POST, 30);
+            mix.put(Operation.POSTS_BY_USER, 20);
+            mix.put(Operation.COUNT_POSTS, 5);
+            mix.put(Operation.CREATE_POST, 10);
+            mix.put(Operation.UPDATE_POST, 5);
+        }
+
+        /**
+         * Liest "key=value"-Argumente. Unbekannte Schlüssel führen zu einem Fehler.
+         */
+        public static Config fromArgs(String[] args) {
+            Config config = new Config();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Argument muss die Form key=value haben: " + arg);
+                }
+                String key = arg.substring(0, eq).trim();
+                String value = arg.substring(eq + 1).trim();
+                switch (key) {
+                    case "durationSeconds": config.durationSeconds = Integer.parseInt(value); break;
+                    case "warmupSeconds": config.warmupSeconds = Integer.parseInt(value); break;
+                    case "reportSeconds": config.reportSeconds = Integer.parseInt(value); break;
+                    case "threads": config.threads = Integer.parseInt(value); break;
+                    case "rate": config.rate = Integer.parseInt(value); break;
+                    case "users": config.users = Integer.parseInt(value); break;
+                    case "postsPerUser": config.postsPerUser = Integer.parseInt(value); break;
+                    case "theta": config.theta = Double.parseDouble(value); break;
+                    case "quiet": config.quiet = Boolean.parseBoolean(value); break;
+                    case "mix": config.parseMix(value); break;
+                    default: throw new IllegalArgumentException("Unbekannter Parameter: " + key);
+                }
+            }
+            if (config.threads < 1 || config.durationSeconds < 1 || config.reportSeconds < 1) {
+                throw new IllegalArgumentException("threads, durationSeconds und reportSeconds müssen positiv sein.");
+            }
+            return config;
+        }
+
+        private void parseMix(String value) {
+            mix.clear();
+            for (String part : value.split(",")) {
+                String[] kv = part.split(":");
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("Mix-Eintrag muss die Form op:gewicht haben: " + part);
+                }
+                mix.put(Operation.fromKey(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Config{" +
+                    "durationSeconds=" + durationSeconds +
+                    ", warmupSeconds=" + warmupSeconds +
+                    ", threads=" + threads +
+                    ", rate=" + (rate > 0 ? rate + "/s" : "closed-loop") +
+                    ", theta=" + theta +
+                    ", mix=" + mix +
+                    '}';
+        }
+    }
+
+    private final Config config;
+    private final UserDAO userDAO;
+    private final PostDAO postDAO;
+
+    private final Operation[] ops;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, LatencyHistogram> intervalHistograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LatencyHistogram> totalHistograms = new EnumMap<>(Operation.class);
+    private final AtomicLong intervalOverloads = new AtomicLong();
+    private final AtomicLong intervalErrors = new AtomicLong();
+    private final AtomicLong loggedErrors = new AtomicLong();
+    // Nur vom Reporter-Thread und nach dessen Ende von reportSummary benutzt
+    private long totalOverloads;
+    private long totalErrors;
+    private final AtomicLong ticket = new AtomicLong();
+
+    private int[] userIds;
+    private int[] postIds;
+    private ZipfianGenerator userKeys;
+    private ZipfianGenerator postKeys;
+
+    public LoadGenerator(Config config, UserDAO userDAO, PostDAO postDAO) {
+        this.config = config;
+        this.userDAO = userDAO;
+        this.postDAO = postDAO;
+
+        List<Operation> active = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> e : config.mix.entrySet()) {
+            if (e.getValue() > 0) {
+                active.add(e.getKey());
+            }
+        }
+        if (active.isEmpty()) {
+            throw new IllegalArgumentException("Der Operations-Mix ist leer.");
+        }
+        this.ops = active.toArray(new Operation[0]);
+        this.cumulativeWeights = new int[ops.length];
+        int sum = 0;
+        for (int i = 0; i < ops.length; i++) {
+            sum += config.mix.get(ops[i]);
+            cumulativeWeights[i] = sum;
+        }
+        for (Operation op : Operation.values()) {
+            intervalHistograms.put(op, new LatencyHistogram());
+            totalHistograms.put(op, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Führt den kompletten Lastlauf aus: Daten vorbereiten, Warm-up, Messung, Zusammenfassung.
+     *
+     * @throws SQLException falls die Testdaten nicht geladen oder angelegt werden können
+     * @throws InterruptedException falls der Lauf unterbrochen wird
+     */
+    public void run() throws SQLException, InterruptedException {
+        if (config.quiet) {
+            USER_DAO_LOGGER.setLevel(Level.WARNING);
+            POST_DAO_LOGGER.setLevel(Level.WARNING);
+        }
+
+        prepareKeys();
+        System.out.println("=== Lastlauf: " + config + " ===");
+        System.out.println("Schlüsselmenge: " + userIds.length + " User, " + postIds.length + " Posts\n");
+
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> reportInterval(warmupEnd),
+                config.reportSeconds, config.reportSeconds, TimeUnit.SECONDS);
+
+        // Daemon-Threads: ein in der Datenbank hängender Worker darf das Beenden der JVM nicht blockieren
+        ExecutorService workers = Executors.newFixedThreadPool(config.threads, r -> {
+            Thread t = new Thread(r, "load-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < config.threads; i++) {
+            workers.submit(() -> workerLoop(start, warmupEnd, end));
+        }
+        workers.shutdown();
+        long graceNanos = end - System.nanoTime() + TimeUnit.SECONDS.toNanos(STOP_GRACE_SECONDS);
+        if (!workers.awaitTermination(graceNanos, TimeUnit.NANOSECONDS)) {
+            logger.log(Level.WARNING, "Worker nach {0} s Nachlauf noch aktiv, werden abgebrochen", STOP_GRACE_SECONDS);
+            workers.shutdownNow();
+        }
+        long stopped = System.nanoTime();
+        reporter.shutdownNow();
+        // Ein gerade laufendes reportInterval muss fertig sein, bevor die Summen gelesen werden
+        if (!reporter.awaitTermination(5, TimeUnit.SECONDS)) {
+            logger.warning("Reporter wurde nicht rechtzeitig beendet, Zusammenfassung kann unvollständig sein");
+        }
+
+        // Durchsatz über die tatsächlich gemessene Zeit, nicht über die geplante Laufzeit
+        reportSummary(Math.max(1, stopped - warmupEnd));
+    }
+
+    private void workerLoop(long start, long warmupEnd, long end) {
+        long periodNanos = config.rate > 0 ? TimeUnit.SECONDS.toNanos(1) / config.rate : 0;
+
+        while (true) {
+            long intended;
+            if (periodNanos > 0) {
+                intended = start + ticket.getAndIncrement() * periodNanos;
+                if (intended >= end) {
+                    return;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+            // Rückstau aus dem offenen Kreis nicht über das Laufzeitende hinaus abarbeiten
+            if (System.nanoTime() >= end || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            Operation op = nextOperation();
+            boolean measured = intended >= warmupEnd;
+            try {
+                execute(op);
+                // Nur erfolgreiche Operationen gehen in Latenz und Durchsatz ein
+                if (measured) {
+                    intervalHistograms.get(op).record(System.nanoTime() - intended);
+                }
+            } catch (OverloadException e) {
+                if (measured) {
+                    intervalOverloads.incrementAndGet();
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (measured) {
+                    intervalErrors.incrementAndGet();
+                }
+                if (loggedErrors.incrementAndGet() <= 10) {
+                    logger.log(Level.WARNING, "Fehler bei Operation " + op, e);
+                }
+            }
+        }
+    }
+
+    private Operation nextOperation() {
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return ops[i];
+            }
+        }
+        return ops[ops.length - 1];
+    }
+
+    private void execute(Operation op) throws SQLException {
+        switch (op) {
+            case FIND_USER:
+                userDAO.findById(userIds[userKeys.next()]);
+                break;
+            case FIND_POST:
+                postDAO.findById(postIds[postKeys.next()]);
+                break;
+            case POSTS_BY_USER:
+                postDAO.findByUserId(userIds[userKeys.next()]);
+                break;
+            case COUNT_POSTS:
+                postDAO.countByUserId(userIds[userKeys.next()]);
+                break;
+            case CREATE_POST:
+                postDAO.create(new Post(userIds[userKeys.next()], "Lasttest", randomContent()));
+                break;
+            case UPDATE_POST:
+                Post post = new Post(postIds[postKeys.next()], 0, "Lasttest (bearbeitet)", randomContent(), null);
+                postDAO.update(post);
+                break;
+            default:
+                throw new IllegalStateException("Unbekannte Operation: " + op);
+        }
+    }
+
+    /**
+     * Lädt die vorhandenen IDs oder legt Testdaten an, falls die Datenbank leer ist.
+     */
+    private void prepareKeys() throws SQLException {
+        List<User> users = userDAO.findAll();
+        if (users.isEmpty()) {
+            System.out.println("Datenbank leer, lege " + config.users + " User mit je "
+                    + config.postsPerUser + " Posts an ...");
+            String prefix = "load_" + System.currentTimeMillis() + "_";
+            for (int i = 0; i < config.users; i++) {
+                User user = new User(prefix + i, prefix + i + "@example.com", "lasttest");
+                userDAO.create(user);
+                List<Post> posts = new ArrayList<>();
+                for (int j = 0; j < config.postsPerUser; j++) {
+                    posts.add(new Post(user.getId(), "Lasttest " + j, randomContent()));
+                }
+                postDAO.createAll(posts);
+            }
+            users = userDAO.findAll();
+        }
+
+        userIds = users.stream().mapToInt(User::getId).toArray();
+        PostSnapshot snapshot = postDAO.loadSnapshot(false);
+        postIds = new int[snapshot.size()];
+        for (int row = 0; row < postIds.length; row++) {
+            postIds[row] = snapshot.getId(row);
+        }
+        if (postIds.length == 0) {
+            throw new SQLException("Keine Posts vorhanden, Lastlauf nicht möglich.");
+        }
+
+        userKeys = new ZipfianGenerator(userIds.length, config.theta, 42);
+        postKeys = new ZipfianGenerator(postIds.length, config.theta, 4242);
+    }
+
+    private static String randomContent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int length = 50 + random.nextInt(450);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    private void reportInterval(long warmupEnd) {
+        boolean warmup = System.nanoTime() < warmupEnd;
+        LatencyHistogram all = new LatencyHistogram();
+        for (Operation op : Operation.values()) {
+            LatencyHistogram interval = intervalHistograms.get(op).snapshotAndReset();
+            totalHistograms.get(op).add(interval);
+            all.add(interval);
+        }
+        long overloads = intervalOverloads.getAndSet(0);
+        long errors = intervalErrors.getAndSet(0);
+        totalOverloads += overloads;
+        totalErrors += errors;
+        if (warmup) {
+            System.out.println("[Warm-up]");
+            return;
+        }
+        System.out.println(formatLine("intervall", all, TimeUnit.SECONDS.toNanos(config.reportSeconds))
+                + String.format(Locale.ROOT, " | overload=%d errors=%d", overloads, errors));
+    }
+
+    private void reportSummary(long measuredNanos) {
+        // Restwerte des letzten, angebrochenen Intervalls übernehmen
+        for (Operation op : Operation.values()) {
+            totalHistograms.get(op).add(intervalHistograms.get(op).snapshotAndReset());
+        }
+        totalOverloads += intervalOverloads.getAndSet(0);
+        totalErrors += intervalErrors.getAndSet(0);
+
+        System.out.println("\n=== Zusammenfassung ===");
+        LatencyHistogram all = new LatencyHistogram();
+        for (Operation op : ops) {
+            LatencyHistogram h = totalHistograms.get(op);
+            all.add(h);
+            System.out.println(formatLine(op.key, h, measuredNanos));
+        }
+        System.out.println(formatLine("gesamt", all, measuredNanos));
+        if (config.rate > 0) {
+            System.out.println(String.format(Locale.ROOT, "Zielrate: %d ops/s, erreicht: %.1f ops/s",
+                    config.rate, all.getCount() / (measuredNanos / 1e9)));
+        }
+        System.out.println(String.format(Locale.ROOT, "Abgewiesen (Overload): %d (%.1f/s), Fehler: %d (%.1f/s)",
+                totalOverloads, totalOverloads / (measuredNanos / 1e9),
+                totalErrors, totalErrors / (measuredNanos / 1e9)));
+        System.out.println("Admission Control: " + AdmissionControl.shared());
+    }
+
+    private static String formatLine(String label, LatencyHistogram h, long periodNanos) {
+        double seconds = periodNanos / 1e9;
+        return String.format(Locale.ROOT,
+                "%-12s %9.1f ops/s  p50=%7.2fms p90=%7.2fms p99=%7.2fms p99.9=%7.2fms max=%7.2fms",
+                label,
+                h.getCount() / seconds,
+                h.getValueAtPercentile(50) / 1e6,
+                h.getValueAtPercentile(90) / 1e6,
+                h.getValueAtPercentile(99) / 1e6,
+                h.getValueAtPercentile(99.9) / 1e6,
+                h.getMaxNanos() / 1e6);
+    }
+}
@@ -4,13 +4,61 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Main-Klasse zum Testen aller Funktionen.
- * Demonstriert CRUD-Operationen für User und Posts.
+ * Einstiegspunkt.
+ *
+ * Ohne Argumente bzw. mit "key=value"-Argumenten startet der Lastgenerator
+ * ({@link LoadGenerator}). Mit dem Argument "demo" läuft die einmalige
+ * Demonstration der CRUD-Operationen für User und Posts.
  */
 public class Main {
     private static final Logger logger = Logger.getLogger(Main.class.getName());
 
     public static void main(String[] args) {
+        try {
+            if (args.length > 0 && args[0].equals("demo")) {
+                runDemo();
+            } else {
+                runLoad(args);
+            }
+        } finally {
+            releaseSharedIds();
+        }
+    }
+
+    private static void runLoad(String[] args) {
+        try {
+            new LoadGenerator(LoadGenerator.Config.fromArgs(args), new UserDAO(), new PostDAO()).run();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ungültige Parameter: " + e.getMessage());
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Datenbankfehler aufgetreten", e);
+            System.err.println("Fehler: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Lastlauf wurde unterbrochen.");
+        }
+    }
+
+    /**
+     * Gibt die reservierten, aber ungenutzten IDs der DAOs zurück.
+     */
+    private static void releaseSharedIds() {
+        try {
+            UserDAO.releaseSharedIds();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Ungenutzte User-IDs konnten nicht zurückgegeben werden", e);
+        }
+        try {
+            PostDAO.releaseSharedIds();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Ungenutzte Post-IDs konnten nicht zurückgegeben werden", e);
+        }
+    }
+
+    /**
+     * Führt einmalig alle CRUD-Operationen für User und Posts vor.
+     */
+    private static void runDemo() {
         UserDAO userDAO = new UserDAO();
         PostDAO postDAO = new PostDAO();
 
@@ -0,0 +1,32 @@
+import java.sql.SQLTransientException;
+
+/**
+ * Wird geworfen, wenn die Admission Control eine DAO-Operation abweist,
+ * weil das Concurrency-Limit der Operationsklasse erreicht ist.
+ *
+ * Die Anfrage wurde NICHT an die Datenbank geschickt und kann später
+ * wiederholt werden. Als SQLTransientException bleibt sie mit den
+ * bestehenden "throws SQLException"-Signaturen kompatibel, lässt sich
+ * aber gezielt abfangen (z.B. für HTTP 503).
+ */
+public class OverloadException extends SQLTransientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AdmissionControl.Operation operation;
+    private final int limit;
+
+    public OverloadException(AdmissionControl.Operation operation, int limit) {
+        super("DAO überlastet: " + operation + "-Operation abgewiesen (Limit " + limit + " erreicht)");
+        this.operation = operation;
+        this.limit = limit;
+    }
+
+    public AdmissionControl.Operation getOperation() {
+        return operation;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -6,7 +6,7 @@ import java.util.Objects;
  * Repräsentiert einen Beitrag/Post in der Datenbank.
  *
  * Felder:
- * - id: Primärschlüssel (AUTO_INCREMENT)
+ * - id: Primärschlüssel (vergeben vom IdAllocator)
  * - userId: Foreign Key zur User-Tabelle
  * - title: Titel des Posts
  * - content: Inhalt des Posts
@@ -32,6 +32,7 @@ public class Post {
 
     /**
      * Konstruktor ohne ID und Timestamp (für neue Posts vor dem Insert)
+     * Die ID wird von PostDAO.create() vor dem Insert über den IdAllocator vergeben und gesetzt.
      */
     public Post(int userId, String title, String content) {
         this(0, userId, title, content, null);
@@ -0,0 +1,244 @@
+import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Verschiebt alte Posts aus der heißen Tabelle "post" in die Archivtabelle "post_archive".
+ *
+ * Fast alle Zugriffe betreffen neue Posts. Hält man "post" klein, bleiben Tabelle und
+ * Indizes im Buffer Pool. {@link PostDAO} sucht zuerst in "post" und greift nur auf
+ * das Archiv zu, wenn das Ergebnis dort nicht (vollständig) gefunden wird.
+ *
+ * Ein Lauf verschiebt alle Posts, die älter als maxAge sind, in Blöcken von batchSize
+ * Zeilen; jeder Block (INSERT ins Archiv + DELETE aus "post") ist eine eigene Transaktion.
+ * Verschoben werden immer die ältesten Posts zuerst (über einen Index auf created_at).
+ * Dadurch ist jeder archivierte Post höchstens so alt wie jeder Post in "post" mit
+ * Zeitstempel, und ein Feed muss das Archiv erst lesen, wenn "post" nicht mehr reicht.
+ * Mit {@link #start(Duration)} läuft das Archivieren periodisch im Hintergrund.
+ *
+ * Die Archivtabelle wird bei Bedarf mit derselben Struktur wie "post" angelegt und
+ * erhält einen eigenen Foreign Key mit ON DELETE CASCADE auf "user".
+ */
+public class PostArchiver {
+    private static final Logger logger = Logger.getLogger(PostArchiver.class.getName());
+
+    public static final String ARCHIVE_TABLE = "post_archive";
+
+    private static volatile boolean archiveReady;
+    private static volatile boolean ageIndexReady;
+
+    private final AdmissionControl admission;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final long pauseMillis;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param admission Admission Control (jeder Block läuft als WRITE-Operation)
+     * @param maxAge Posts, die älter sind, werden archiviert
+     * @param batchSize maximale Anzahl Posts pro Transaktion
+     * @param pauseMillis Pause zwischen zwei Blöcken (Drosselung), 0 = keine Pause
+     */
+    public PostArchiver(AdmissionControl admission, Duration maxAge, int batchSize, long pauseMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize muss mindestens 1 sein: " + batchSize);
+        }
+        this.admission = admission;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.pauseMillis = Math.max(0, pauseMillis);
+    }
+
+    /**
+     * Archiver mit gemeinsamer Admission Control, 500 Posts pro Block und 20 ms Pause.
+     *
+     * @param maxAge Posts, die älter sind, werden archiviert
+     */
+    public PostArchiver(Duration maxAge) {
+        this(AdmissionControl.shared(), maxAge, 500, 20);
+    }
+
+    /**
+     * Legt die Archivtabelle an, falls sie noch nicht existiert.
+     * Wird von {@link PostDAO} vor dem ersten Zugriff aufgerufen.
+     *
+     * @param con offene Verbindung
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public static void ensureArchiveTable(Connection con) throws SQLException {
+        if (archiveReady) {
+            return;
+        }
+        synchronized (PostArchiver.class) {
+            if (archiveReady) {
+                return;
+            }
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("CREATE TABLE IF NOT EXISTS " + ARCHIVE_TABLE + " LIKE post");
+
+                // LIKE übernimmt keine Foreign Keys, deshalb einmalig nachziehen
+                String check = "SELECT COUNT(*) FROM information_schema.REFERENTIAL_CONSTRAINTS "
+                        + "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = '" + ARCHIVE_TABLE + "'";
+                try (ResultSet rs = st.executeQuery(check)) {
+                    if (rs.next() && rs.getInt(1) == 0) {
+                        st.executeUpdate("ALTER TABLE " + ARCHIVE_TABLE + " ADD CONSTRAINT fk_post_archive_user "
+                                + "FOREIGN KEY (user_id) REFERENCES user(id) ON DELETE CASCADE");
+                    }
+                }
+            }
+            archiveReady = true;
+        }
+    }
+
+    /**
+     * Legt einen Index auf post.created_at an, falls keiner existiert. Er trägt die
+     * Sortierung "älteste zuerst" beim Archivieren (InnoDB hängt die ID implizit an).
+     */
+    private static void ensureAgeIndex(Connection con) throws SQLException {
+        if (ageIndexReady) {
+            return;
+        }
+        synchronized (PostArchiver.class) {
+            if (ageIndexReady) {
+                return;
+            }
+            String check = "SELECT COUNT(*) FROM information_schema.STATISTICS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'post' "
+                    + "AND COLUMN_NAME = 'created_at' AND SEQ_IN_INDEX = 1";
+            try (Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery(check)) {
+                if (rs.next() && rs.getInt(1) == 0) {
+                    st.executeUpdate("CREATE INDEX idx_post_created_at ON post (created_at)");
+                }
+            }
+            ageIndexReady = true;
+        }
+    }
+
+    /**
+     * Archiviert alle Posts, die älter als maxAge sind.
+     *
+     * @return Anzahl der verschobenen Posts
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public long runOnce() throws SQLException {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - maxAge.toMillis());
+        long moved = 0;
+
+        try (Connection con = DatabaseConnection.connect()) {
+            ensureArchiveTable(con);
+            ensureAgeIndex(con);
+
+            while (true) {
+                AdmissionControl.Permit permit = admission.acquireOrPause(AdmissionControl.Operation.WRITE, pauseMillis);
+                if (permit == null) {
+                    continue;
+                }
+                int batch;
+                try (permit) {
+                    batch = moveBatch(con, permit, cutoff);
+                }
+
+                if (batch == 0) {
+                    break;
+                }
+                moved += batch;
+                AdmissionControl.pause(pauseMillis);
+            }
+        }
+
+        logger.log(Level.INFO, "{0} Posts älter als {1} archiviert", new Object[]{moved, cutoff});
+        return moved;
+    }
+
+    /**
+     * Startet das periodische Archivieren im Hintergrund.
+     *
+     * @param interval Abstand zwischen zwei Läufen
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "post-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Archivieren fehlgeschlagen", e);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Beendet das periodische Archivieren.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Verschiebt die ältesten Posts vor dem Stichtag als Block in einer Transaktion.
+     */
+    private int moveBatch(Connection con, AdmissionControl.Permit permit, Timestamp cutoff) throws SQLException {
+        con.setAutoCommit(false);
+        try {
+            List<Integer> ids = new ArrayList<>();
+            try (PreparedStatement select = con.prepareStatement(
+                    "SELECT id FROM post WHERE created_at < ? ORDER BY created_at, id LIMIT ? FOR UPDATE")) {
+                permit.applyTimeout(select);
+                select.setTimestamp(1, cutoff);
+                select.setInt(2, batchSize);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+
+            if (ids.isEmpty()) {
+                con.commit();
+                return 0;
+            }
+
+            String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+            try (PreparedStatement insert = con.prepareStatement(
+                         "INSERT INTO " + ARCHIVE_TABLE + " SELECT * FROM post WHERE id IN (" + in + ")");
+                 PreparedStatement delete = con.prepareStatement(
+                         "DELETE FROM post WHERE id IN (" + in + ")")) {
+
+                permit.applyTimeout(insert);
+                permit.applyTimeout(delete);
+                for (int i = 0; i < ids.size(); i++) {
+                    insert.setInt(i + 1, ids.get(i));
+                    delete.setInt(i + 1, ids.get(i));
+                }
+                insert.executeUpdate();
+                delete.executeUpdate();
+            }
+
+            con.commit();
+            return ids.size();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+}
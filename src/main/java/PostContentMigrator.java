@@ -0,0 +1,151 @@
+import java.sql.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Komprimiert die Inhalte bestehender Posts nachträglich (siehe {@link ContentCodec}).
+ *
+ * Läuft über "post" und "post_archive" in ID-Reihenfolge (Keyset-Paginierung) und
+ * bearbeitet pro Transaktion höchstens batchSize Zeilen. Bereits kodierte oder zu
+ * kurze Inhalte werden übersprungen; ein abgebrochener Lauf kann daher einfach
+ * erneut gestartet werden.
+ */
+public class PostContentMigrator {
+    private static final Logger logger = Logger.getLogger(PostContentMigrator.class.getName());
+
+    private final AdmissionControl admission;
+    private final ContentCodec codec;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    /**
+     * @param admission Admission Control (jeder Block läuft als WRITE-Operation)
+     * @param codec Codec, mit dem komprimiert wird
+     * @param batchSize maximale Anzahl Posts pro Transaktion
+     * @param pauseMillis Pause zwischen zwei Blöcken (Drosselung), 0 = keine Pause
+     */
+    public PostContentMigrator(AdmissionControl admission, ContentCodec codec, int batchSize, long pauseMillis) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize muss mindestens 1 sein: " + batchSize);
+        }
+        this.admission = admission;
+        this.codec = codec;
+        this.batchSize = batchSize;
+        this.pauseMillis = Math.max(0, pauseMillis);
+    }
+
+    /**
+     * Migrator mit gemeinsamer Admission Control und gemeinsamem Codec, 200 Posts pro Block.
+     */
+    public PostContentMigrator() {
+        this(AdmissionControl.shared(), ContentCodec.shared(), 200, 20);
+    }
+
+    /**
+     * Komprimiert alle passenden Inhalte in "post" und im Archiv.
+     *
+     * @return Anzahl der komprimierten Posts
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public long run() throws SQLException {
+        long migrated;
+        try (Connection con = DatabaseConnection.connect()) {
+            PostArchiver.ensureArchiveTable(con);
+            migrated = migrateTable(con, "post") + migrateTable(con, PostArchiver.ARCHIVE_TABLE);
+        }
+
+        logger.log(Level.INFO, "{0} Post-Inhalte komprimiert", migrated);
+        return migrated;
+    }
+
+    private long migrateTable(Connection con, String table) throws SQLException {
+        long migrated = 0;
+        int lastId = 0;
+
+        while (true) {
+            AdmissionControl.Permit permit = admission.acquireOrPause(AdmissionControl.Operation.WRITE, pauseMillis);
+            if (permit == null) {
+                continue;
+            }
+            Batch batch;
+            try (permit) {
+                batch = migrateBatch(con, permit, table, lastId);
+            }
+
+            if (batch == null) {
+                break;
+            }
+            lastId = batch.lastId;
+            migrated += batch.updates;
+            AdmissionControl.pause(pauseMillis);
+        }
+        return migrated;
+    }
+
+    /**
+     * Komprimiert einen Block in einer Transaktion.
+     *
+     * @return gelesener Block oder null, wenn keine Zeilen mehr vorhanden sind
+     */
+    private Batch migrateBatch(Connection con, AdmissionControl.Permit permit, String table, int afterId)
+            throws SQLException {
+        con.setAutoCommit(false);
+        try (PreparedStatement select = con.prepareStatement(
+                     "SELECT id, content FROM " + table + " WHERE id > ? AND CHAR_LENGTH(content) >= ? "
+                             + "ORDER BY id LIMIT ? FOR UPDATE");
+             PreparedStatement update = con.prepareStatement(
+                     "UPDATE " + table + " SET content = ? WHERE id = ?")) {
+
+            permit.applyTimeout(select);
+            permit.applyTimeout(update);
+            select.setInt(1, afterId);
+            select.setInt(2, codec.getThreshold());
+            select.setInt(3, batchSize);
+
+            int lastId = -1;
+            int updates = 0;
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    lastId = rs.getInt("id");
+                    String content = rs.getString("content");
+                    if (ContentCodec.isEncoded(content)) {
+                        // Schon komprimiert oder maskiert: nicht doppelt kodieren
+                        continue;
+                    }
+                    String encoded = codec.encode(content);
+                    if (!encoded.equals(content)) {
+                        update.setString(1, encoded);
+                        update.setInt(2, lastId);
+                        update.addBatch();
+                        updates++;
+                    }
+                }
+            }
+
+            if (updates > 0) {
+                update.executeBatch();
+            }
+            con.commit();
+            return lastId < 0 ? null : new Batch(lastId, updates);
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+
+    /**
+     * Ergebnis eines Blocks: letzte gelesene ID und Anzahl der komprimierten Zeilen.
+     */
+    private static final class Batch {
+        final int lastId;
+        final int updates;
+
+        Batch(int lastId, int updates) {
+            this.lastId = lastId;
+            this.updates = updates;
+        }
+    }
+}
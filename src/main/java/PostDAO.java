@@ -7,26 +7,100 @@ import java.util.logging.Logger;
 /**
  * Data Access Object (DAO) für Posts.
  * Enthält alle SQL-Operationen für die Post-Tabelle, inkl. Foreign Key-Beziehungen.
+ *
+ * Posts liegen in zwei Stufen: neue Posts in "post", alte in "post_archive"
+ * (siehe {@link PostArchiver}). Suchen laufen zuerst auf "post" und greifen nur
+ * dann auf das Archiv zu, wenn das Ergebnis dort nicht vollständig ist.
+ *
+ * Lange Inhalte werden beim Schreiben komprimiert und beim Lesen transparent
+ * dekomprimiert (siehe {@link ContentCodec}).
  */
 public class PostDAO {
     private static final Logger logger = Logger.getLogger(PostDAO.class.getName());
 
+    // Gemeinsamer ID-Allocator aller PostDAOs; startet hinter der größten ID beider Stufen
+    private static final IdAllocator SHARED_IDS = new IdAllocator(
+            "post",
+            "SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM post), "
+                    + "(SELECT COALESCE(MAX(id), 0) FROM " + PostArchiver.ARCHIVE_TABLE + "))",
+            IdAllocator.defaultBlockSize());
+
+    private final AdmissionControl admission;
+    private final ContentCodec codec;
+    private final IdAllocator ids;
+
+    /**
+     * Erstellt das DAO mit der gemeinsamen Admission Control und dem gemeinsamen Codec.
+     */
+    public PostDAO() {
+        this(AdmissionControl.shared());
+    }
+
+    /**
+     * Erstellt das DAO mit einer eigenen Admission Control (Limits und Timeouts).
+     *
+     * @param admission Admission Control für alle Operationen dieses DAOs
+     */
+    public PostDAO(AdmissionControl admission) {
+        this(admission, ContentCodec.shared());
+    }
+
+    /**
+     * Erstellt das DAO mit eigener Admission Control und eigenem Codec für die Inhalte.
+     *
+     * @param admission Admission Control für alle Operationen dieses DAOs
+     * @param codec Komprimierung der Post-Inhalte
+     */
+    public PostDAO(AdmissionControl admission, ContentCodec codec) {
+        this(admission, codec, SHARED_IDS);
+    }
+
+    /**
+     * Erstellt das DAO mit eigener Admission Control, eigenem Codec und eigenem ID-Allocator.
+     *
+     * @param admission Admission Control für alle Operationen dieses DAOs
+     * @param codec Komprimierung der Post-Inhalte
+     * @param ids Allocator für neue Post-IDs
+     */
+    public PostDAO(AdmissionControl admission, ContentCodec codec, IdAllocator ids) {
+        this.admission = admission;
+        this.codec = codec;
+        this.ids = ids;
+    }
+
+    /**
+     * Gibt die ungenutzten IDs des gemeinsamen Allocators zurück. Sollte beim
+     * Beenden des Prozesses aufgerufen werden, sonst verfällt der Rest des Blocks.
+     *
+     * @throws SQLException falls die IDs nicht zurückgegeben werden können
+     */
+    public static void releaseSharedIds() throws SQLException {
+        SHARED_IDS.close();
+    }
+
     /**
      * Fügt einen neuen Post in die Datenbank ein.
-     * Die generierte ID wird automatisch im Post-Objekt gesetzt.
+     * Die ID wird vorab vom {@link IdAllocator} vergeben und im Post-Objekt gesetzt.
      *
      * @param post Post-Objekt (userId muss existieren)
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public void create(Post post) throws SQLException {
-        String sql = "INSERT INTO post (user_id, title, content) VALUES (?, ?, ?)";
+        String sql = "INSERT INTO post (id, user_id, title, content) VALUES (?, ?, ?, ?)";
 
-        try (Connection con = DatabaseConnection.connect();
-             PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect();
+             PreparedStatement ps = con.prepareStatement(sql)) {
 
-            ps.setInt(1, post.getUserId());
-            ps.setString(2, post.getTitle());
-            ps.setString(3, post.getContent());
+            // Die Startwert-Abfrage des Allocators liest auch das Archiv
+            PostArchiver.ensureArchiveTable(con);
+            permit.applyTimeout(ps);
+
+            int id = ids.nextInt();
+            ps.setInt(1, id);
+            ps.setInt(2, post.getUserId());
+            ps.setString(3, post.getTitle());
+            ps.setString(4, codec.encode(post.getContent()));
 
             int affectedRows = ps.executeUpdate();
 
@@ -34,42 +108,93 @@ public class PostDAO {
                 throw new SQLException("Post konnte nicht erstellt werden, keine Zeilen wurden eingefügt.");
             }
 
-            // Generierte ID abrufen und im Post-Objekt setzen
-            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    post.setId(generatedKeys.getInt(1));
-                    logger.log(Level.INFO, "Post erstellt mit ID: {0}", post.getId());
-                } else {
-                    throw new SQLException("Post wurde erstellt, aber keine ID wurde zurückgegeben.");
-                }
+            post.setId(id);
+            logger.log(Level.INFO, "Post erstellt mit ID: {0}", post.getId());
+        }
+    }
+
+    /**
+     * Fügt mehrere Posts als Batch in einer Transaktion ein.
+     * Da die IDs vorab vergeben werden, ist kein Abruf generierter Schlüssel nötig;
+     * mit rewriteBatchedStatements=true in der JDBC-URL wird daraus ein Multi-Row-Insert.
+     *
+     * @param posts Post-Objekte (userIds müssen existieren); die IDs werden gesetzt
+     * @throws SQLException falls ein SQL-Fehler auftritt (dann wird nichts eingefügt)
+     */
+    public void createAll(List<Post> posts) throws SQLException {
+        if (posts.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO post (id, user_id, title, content) VALUES (?, ?, ?, ?)";
+
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            PostArchiver.ensureArchiveTable(con);
+            permit.applyTimeout(ps);
+
+            int[] newIds = new int[posts.size()];
+            for (int i = 0; i < newIds.length; i++) {
+                Post post = posts.get(i);
+                newIds[i] = ids.nextInt();
+                ps.setInt(1, newIds[i]);
+                ps.setInt(2, post.getUserId());
+                ps.setString(3, post.getTitle());
+                ps.setString(4, codec.encode(post.getContent()));
+                ps.addBatch();
+            }
+
+            con.setAutoCommit(false);
+            try {
+                ps.executeBatch();
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+
+            for (int i = 0; i < newIds.length; i++) {
+                posts.get(i).setId(newIds[i]);
             }
+            logger.log(Level.INFO, "{0} Posts als Batch erstellt", posts.size());
         }
     }
 
     /**
-     * Sucht einen Post anhand der ID.
+     * Sucht einen Post anhand der ID, zuerst in "post", danach im Archiv.
      *
      * @param id Die Post-ID
      * @return Post-Objekt oder null, wenn nicht gefunden
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public Post findById(int id) throws SQLException {
-        String sql = "SELECT * FROM post WHERE id = ?";
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect()) {
 
-        try (Connection con = DatabaseConnection.connect();
-             PreparedStatement ps = con.prepareStatement(sql)) {
+            Post post = findById(con, permit, "post", id);
+            if (post == null) {
+                PostArchiver.ensureArchiveTable(con);
+                post = findById(con, permit, PostArchiver.ARCHIVE_TABLE, id);
+            }
+            return post;
+        }
+    }
+
+    private Post findById(Connection con, AdmissionControl.Permit permit, String table, int id) throws SQLException {
+        String sql = "SELECT * FROM " + table + " WHERE id = ?";
+
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+
+            permit.applyTimeout(ps);
 
             ps.setInt(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return new Post(
-                            rs.getInt("id"),
-                            rs.getInt("user_id"),
-                            rs.getString("title"),
-                            rs.getString("content"),
-                            rs.getTimestamp("created_at")
-                    );
+                    return mapRow(rs);
                 }
             }
         }
@@ -77,27 +202,27 @@ public class PostDAO {
     }
 
     /**
-     * Liest alle Posts aus der Datenbank.
+     * Liest alle Posts aus der Datenbank (inkl. Archiv).
      *
      * @return Liste aller Posts (sortiert nach Erstellungsdatum, neueste zuerst)
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public List<Post> findAll() throws SQLException {
         List<Post> posts = new ArrayList<>();
-        String sql = "SELECT * FROM post ORDER BY created_at DESC";
+        String sql = "SELECT * FROM post UNION ALL SELECT * FROM " + PostArchiver.ARCHIVE_TABLE
+                + " ORDER BY created_at DESC";
+
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
+             Statement st = con.createStatement()) {
 
-        try (Connection con = DatabaseConnection.connect();
-             Statement st = con.createStatement();
-             ResultSet rs = st.executeQuery(sql)) {
+            PostArchiver.ensureArchiveTable(con);
+            permit.applyTimeout(st);
 
-            while (rs.next()) {
-                posts.add(new Post(
-                        rs.getInt("id"),
-                        rs.getInt("user_id"),
-                        rs.getString("title"),
-                        rs.getString("content"),
-                        rs.getTimestamp("created_at")
-                ));
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    posts.add(mapRow(rs));
+                }
             }
         }
 
@@ -106,7 +231,69 @@ public class PostDAO {
     }
 
     /**
-     * Sucht alle Posts eines bestimmten Users.
+     * Lädt die gesamte Post-Tabelle als spaltenorientierten Schnappschuss für Auswertungen.
+     * Die Zeilen werden vom Server gestreamt (kein vollständiges ResultSet im Speicher)
+     * und direkt in primitive Arrays geschrieben, ohne Post-Objekte zu erzeugen.
+     * Läuft in der Operationsklasse SCAN.
+     *
+     * @param withContent true, wenn auch der Inhalt der Posts geladen werden soll
+     * @return Schnappschuss aller Posts (zuerst "post", dann Archiv, jeweils nach ID),
+     *         beide aus demselben konsistenten Datenbankstand
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public PostSnapshot loadSnapshot(boolean withContent) throws SQLException {
+        PostSnapshot.Builder builder = new PostSnapshot.Builder(withContent, 1024);
+
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.SCAN);
+             Connection con = DatabaseConnection.connect()) {
+
+            PostArchiver.ensureArchiveTable(con);
+            beginConsistentRead(con);
+            try {
+                streamInto(con, permit, "post", builder, withContent);
+                streamInto(con, permit, PostArchiver.ARCHIVE_TABLE, builder, withContent);
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+        }
+
+        PostSnapshot snapshot = builder.build();
+        logger.log(Level.INFO, "Post-Snapshot geladen: {0}", snapshot);
+        return snapshot;
+    }
+
+    private void streamInto(Connection con, AdmissionControl.Permit permit, String table,
+                            PostSnapshot.Builder builder, boolean withContent) throws SQLException {
+        String sql = withContent
+                ? "SELECT id, user_id, title, content, created_at FROM " + table + " ORDER BY id"
+                : "SELECT id, user_id, title, created_at FROM " + table + " ORDER BY id";
+
+        try (Statement st = con.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            permit.applyTimeout(st);
+            // Signalisiert MySQL Connector/J, die Zeilen einzeln zu streamen
+            st.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    builder.add(
+                            rs.getInt("id"),
+                            rs.getInt("user_id"),
+                            rs.getTimestamp("created_at"),
+                            rs.getString("title"),
+                            withContent ? codec.decode(rs.getString("content")) : null
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Sucht alle Posts eines bestimmten Users (inkl. Archiv).
      *
      * @param userId Die User-ID
      * @return Liste aller Posts des Users
@@ -114,22 +301,22 @@ public class PostDAO {
      */
     public List<Post> findByUserId(int userId) throws SQLException {
         List<Post> posts = new ArrayList<>();
-        String sql = "SELECT * FROM post WHERE user_id = ? ORDER BY created_at DESC";
+        String sql = "SELECT * FROM post WHERE user_id = ? UNION ALL SELECT * FROM " + PostArchiver.ARCHIVE_TABLE
+                + " WHERE user_id = ? ORDER BY created_at DESC";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            PostArchiver.ensureArchiveTable(con);
+            permit.applyTimeout(ps);
+
             ps.setInt(1, userId);
+            ps.setInt(2, userId);
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    posts.add(new Post(
-                            rs.getInt("id"),
-                            rs.getInt("user_id"),
-                            rs.getString("title"),
-                            rs.getString("content"),
-                            rs.getTimestamp("created_at")
-                    ));
+                    posts.add(mapRow(rs));
                 }
             }
         }
@@ -138,6 +325,99 @@ public class PostDAO {
         return posts;
     }
 
+    /**
+     * Liefert eine Seite der Posts eines Users (Feed), neueste zuerst.
+     * Das Archiv wird nur gelesen, wenn die Seite über die Posts in "post" hinausreicht.
+     *
+     * @param userId Die User-ID
+     * @param offset Anzahl der zu überspringenden Posts (nicht negativ)
+     * @param limit maximale Anzahl Posts der Seite (nicht negativ)
+     * @return Posts der Seite
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public List<Post> findByUserId(int userId, int offset, int limit) throws SQLException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset und limit dürfen nicht negativ sein: " + offset + ", " + limit);
+        }
+        if (limit > Integer.MAX_VALUE - offset) {
+            throw new IllegalArgumentException("offset + limit ist zu groß: " + offset + " + " + limit);
+        }
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        int needed = offset + limit;
+
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect()) {
+
+            PostArchiver.ensureArchiveTable(con);
+            beginConsistentRead(con);
+            List<Post> posts;
+            try {
+                posts = findNewestByUserId(con, permit, "post", userId, needed);
+
+                // Der Archiver verschiebt älteste Posts zuerst, archivierte Posts sind also nie neuer
+                // als Posts in "post". Nur Posts ohne Zeitstempel sortieren hinter das Archiv.
+                int dated = 0;
+                while (dated < posts.size() && posts.get(dated).getCreatedAt() != null) {
+                    dated++;
+                }
+                if (dated < needed) {
+                    List<Post> archived = findNewestByUserId(con, permit, PostArchiver.ARCHIVE_TABLE, userId,
+                            needed - dated);
+                    posts.addAll(dated, archived);
+                }
+                con.commit();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(true);
+            }
+
+            if (offset >= posts.size()) {
+                return new ArrayList<>();
+            }
+            return new ArrayList<>(posts.subList(offset, Math.min(posts.size(), needed)));
+        }
+    }
+
+    /**
+     * Startet eine Lesetransaktion mit konsistentem Snapshot. Mehrere Abfragen auf "post"
+     * und das Archiv sehen so denselben Stand, auch wenn der Archiver dazwischen einen
+     * Block verschiebt (sonst würden verschobene Zeilen doppelt oder gar nicht gelesen).
+     * Vorher nötige DDL (ensureArchiveTable) muss schon gelaufen sein, sie würde die
+     * Transaktion implizit beenden.
+     */
+    private static void beginConsistentRead(Connection con) throws SQLException {
+        con.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        con.setAutoCommit(false);
+        try (Statement st = con.createStatement()) {
+            st.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+        }
+    }
+
+    private List<Post> findNewestByUserId(Connection con, AdmissionControl.Permit permit, String table,
+                                          int userId, int limit) throws SQLException {
+        List<Post> posts = new ArrayList<>();
+        String sql = "SELECT * FROM " + table + " WHERE user_id = ? ORDER BY created_at DESC LIMIT ?";
+
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+
+            permit.applyTimeout(ps);
+
+            ps.setInt(1, userId);
+            ps.setInt(2, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    posts.add(mapRow(rs));
+                }
+            }
+        }
+        return posts;
+    }
+
     /**
      * Aktualisiert Titel und Inhalt eines Posts.
      *
@@ -145,16 +425,14 @@ public class PostDAO {
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public void update(Post post) throws SQLException {
-        String sql = "UPDATE post SET title=?, content=? WHERE id=?";
-
-        try (Connection con = DatabaseConnection.connect();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setString(1, post.getTitle());
-            ps.setString(2, post.getContent());
-            ps.setInt(3, post.getId());
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect()) {
 
-            int affectedRows = ps.executeUpdate();
+            int affectedRows = update(con, permit, "post", post);
+            if (affectedRows == 0) {
+                PostArchiver.ensureArchiveTable(con);
+                affectedRows = update(con, permit, PostArchiver.ARCHIVE_TABLE, post);
+            }
 
             if (affectedRows == 0) {
                 throw new SQLException("Post mit ID " + post.getId() + " konnte nicht aktualisiert werden.");
@@ -164,6 +442,21 @@ public class PostDAO {
         }
     }
 
+    private int update(Connection con, AdmissionControl.Permit permit, String table, Post post) throws SQLException {
+        String sql = "UPDATE " + table + " SET title=?, content=? WHERE id=?";
+
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+
+            permit.applyTimeout(ps);
+
+            ps.setString(1, post.getTitle());
+            ps.setString(2, codec.encode(post.getContent()));
+            ps.setInt(3, post.getId());
+
+            return ps.executeUpdate();
+        }
+    }
+
     /**
      * Löscht einen Post anhand der ID.
      *
@@ -171,13 +464,14 @@ public class PostDAO {
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public void delete(int id) throws SQLException {
-        String sql = "DELETE FROM post WHERE id=?";
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect()) {
 
-        try (Connection con = DatabaseConnection.connect();
-             PreparedStatement ps = con.prepareStatement(sql)) {
-
-            ps.setInt(1, id);
-            int affectedRows = ps.executeUpdate();
+            int affectedRows = deleteWhere(con, permit, "post", "id", id);
+            if (affectedRows == 0) {
+                PostArchiver.ensureArchiveTable(con);
+                affectedRows = deleteWhere(con, permit, PostArchiver.ARCHIVE_TABLE, "id", id);
+            }
 
             if (affectedRows == 0) {
                 throw new SQLException("Post mit ID " + id + " konnte nicht gelöscht werden.");
@@ -188,40 +482,59 @@ public class PostDAO {
     }
 
     /**
-     * Löscht alle Posts eines bestimmten Users.
+     * Löscht alle Posts eines bestimmten Users in einem einzigen Statement pro Tabelle (inkl. Archiv).
+     * Für User mit sehr vielen Posts {@link UserPurger} verwenden, der in kleinen Blöcken löscht.
      *
      * @param userId Die User-ID
      * @return Anzahl der gelöschten Posts
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public int deleteByUserId(int userId) throws SQLException {
-        String sql = "DELETE FROM post WHERE user_id=?";
-
-        try (Connection con = DatabaseConnection.connect();
-             PreparedStatement ps = con.prepareStatement(sql)) {
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect()) {
 
-            ps.setInt(1, userId);
-            int affectedRows = ps.executeUpdate();
+            PostArchiver.ensureArchiveTable(con);
+            int affectedRows = deleteWhere(con, permit, "post", "user_id", userId)
+                    + deleteWhere(con, permit, PostArchiver.ARCHIVE_TABLE, "user_id", userId);
 
             logger.log(Level.INFO, "{0} Posts für User-ID {1} gelöscht", new Object[]{affectedRows, userId});
             return affectedRows;
         }
     }
 
+    private int deleteWhere(Connection con, AdmissionControl.Permit permit, String table, String column, int value)
+            throws SQLException {
+        String sql = "DELETE FROM " + table + " WHERE " + column + "=?";
+
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+
+            permit.applyTimeout(ps);
+
+            ps.setInt(1, value);
+            return ps.executeUpdate();
+        }
+    }
+
     /**
-     * Zählt alle Posts eines Users.
+     * Zählt alle Posts eines Users (inkl. Archiv).
      *
      * @param userId Die User-ID
      * @return Anzahl der Posts
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public int countByUserId(int userId) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM post WHERE user_id = ?";
+        String sql = "SELECT (SELECT COUNT(*) FROM post WHERE user_id = ?) + "
+                + "(SELECT COUNT(*) FROM " + PostArchiver.ARCHIVE_TABLE + " WHERE user_id = ?)";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            PostArchiver.ensureArchiveTable(con);
+            permit.applyTimeout(ps);
+
             ps.setInt(1, userId);
+            ps.setInt(2, userId);
 
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -231,4 +544,14 @@ public class PostDAO {
         }
         return 0;
     }
+
+    private Post mapRow(ResultSet rs) throws SQLException {
+        return new Post(
+                rs.getInt("id"),
+                rs.getInt("user_id"),
+                rs.getString("title"),
+                codec.decode(rs.getString("content")),
+                rs.getTimestamp("created_at")
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,423 @@
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Kompakter, spaltenorientierter Schnappschuss der Tabelle "post" für Auswertungen.
+ *
+ * Statt einer List&lt;Post&gt; mit einem Objekt pro Zeile werden die Spalten als
+ * primitive Arrays gehalten (Struct of Arrays):
+ * - ids, userIds: int[]
+ * - createdAt: long[] (Epoch-Millis, {@link #NO_TIMESTAMP} für NULL)
+ * - title, content: UTF-8-Bytes hintereinander in einem byte[] mit int[]-Offsets
+ *
+ * Zeilen werden über ihren Index (0 bis size()-1) angesprochen. Scans, Filter und
+ * Gruppierungen nach User laufen parallel im Fork-Join-Pool.
+ *
+ * Für Gruppierungen werden die vorkommenden User-IDs beim Erstellen einmal auf
+ * dichte Gruppenindizes (0 bis userCount()-1, aufsteigend nach User-ID) abgebildet.
+ * Der Speicher dafür wächst mit der Zahl der User, nicht mit der größten User-ID.
+ *
+ * Der Schnappschuss ist nach dem Erstellen unveränderlich und damit threadsicher.
+ * Pro Textspalte sind maximal 2 GB UTF-8-Daten möglich.
+ */
+public class PostSnapshot {
+
+    /**
+     * Platzhalter in createdAt für einen fehlenden Zeitstempel.
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // Unterhalb dieser Zeilenzahl wird ein Teilbereich nicht weiter aufgeteilt
+    private static final int MIN_CHUNK = 16_384;
+
+    private final int size;
+    private final int[] ids;
+    private final int[] userIds;
+    private final long[] createdAt;
+    private final PackedStrings titles;
+    private final PackedStrings contents;
+    // Sortierte, eindeutige User-IDs; users[g] ist die User-ID der Gruppe g
+    private final int[] users;
+    // Gruppenindex pro Zeile
+    private final int[] userGroups;
+
+    private PostSnapshot(int size, int[] ids, int[] userIds, long[] createdAt,
+                         PackedStrings titles, PackedStrings contents, int[] users, int[] userGroups) {
+        this.size = size;
+        this.ids = ids;
+        this.userIds = userIds;
+        this.createdAt = createdAt;
+        this.titles = titles;
+        this.contents = contents;
+        this.users = users;
+        this.userGroups = userGroups;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public int getUserId(int row) {
+        return userIds[row];
+    }
+
+    public long getCreatedAtMillis(int row) {
+        return createdAt[row];
+    }
+
+    public String getTitle(int row) {
+        return titles.get(row);
+    }
+
+    /**
+     * @return Inhalt des Posts oder null, wenn der Schnappschuss ohne Inhalte geladen wurde
+     */
+    public String getContent(int row) {
+        return contents == null ? null : contents.get(row);
+    }
+
+    public boolean hasContent() {
+        return contents != null;
+    }
+
+    /**
+     * @return Anzahl der verschiedenen User im Schnappschuss
+     */
+    public int userCount() {
+        return users.length;
+    }
+
+    /**
+     * @return User-ID der Gruppe mit dem Index group
+     */
+    public int getGroupUserId(int group) {
+        return users[group];
+    }
+
+    /**
+     * @return Gruppenindex der User-ID oder -1, wenn der User keine Posts im Schnappschuss hat
+     */
+    public int groupOf(int userId) {
+        int group = Arrays.binarySearch(users, userId);
+        return group < 0 ? -1 : group;
+    }
+
+    /**
+     * Erzeugt ein normales Post-Objekt für eine einzelne Zeile.
+     */
+    public Post toPost(int row) {
+        long millis = createdAt[row];
+        return new Post(
+                ids[row],
+                userIds[row],
+                getTitle(row),
+                getContent(row),
+                millis == NO_TIMESTAMP ? null : new Timestamp(millis)
+        );
+    }
+
+    /**
+     * Zählt parallel alle Zeilen, die das Prädikat erfüllen.
+     *
+     * @param rowFilter Prädikat auf dem Zeilenindex
+     * @return Anzahl der Treffer
+     */
+    public long count(IntPredicate rowFilter) {
+        return rows().filter(rowFilter).count();
+    }
+
+    /**
+     * Filtert parallel und liefert die Indizes der passenden Zeilen (aufsteigend).
+     *
+     * @param rowFilter Prädikat auf dem Zeilenindex
+     * @return Zeilenindizes der Treffer
+     */
+    public int[] filter(IntPredicate rowFilter) {
+        return rows().filter(rowFilter).toArray();
+    }
+
+    /**
+     * Gruppiert parallel nach userId und fasst einen Wert pro Zeile zusammen.
+     * Das Ergebnis ist nach Gruppenindex indiziert, die User-ID liefert {@link #getGroupUserId(int)}.
+     *
+     * @param rowFilter Prädikat auf dem Zeilenindex (nur passende Zeilen zählen)
+     * @param value Wert einer Zeile
+     * @param combine assoziative Verknüpfung zweier Werte
+     * @param identity neutrales Element von combine
+     * @return Array der Länge userCount(); Gruppen ohne Treffer behalten identity
+     */
+    public long[] groupByUser(IntPredicate rowFilter, IntToLongFunction value,
+                              LongBinaryOperator combine, long identity) {
+        return ForkJoinPool.commonPool().invoke(
+                new GroupByUserTask(rowFilter, value, combine, identity, 0, size));
+    }
+
+    /**
+     * @return Anzahl der Posts pro userId (nur User mit mindestens einem Post)
+     */
+    public Map<Integer, Long> countByUser() {
+        long[] counts = groupByUser(row -> true, row -> 1L, Long::sum, 0L);
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        for (int group = 0; group < counts.length; group++) {
+            result.put(users[group], counts[group]);
+        }
+        return result;
+    }
+
+    /**
+     * @return Zeitpunkt (Epoch-Millis) des neuesten Posts pro userId, {@link #NO_TIMESTAMP} ohne Zeitstempel
+     */
+    public Map<Integer, Long> latestPostByUser() {
+        long[] latest = groupByUser(row -> true, row -> createdAt[row], Math::max, NO_TIMESTAMP);
+        Map<Integer, Long> result = new LinkedHashMap<>();
+        for (int group = 0; group < latest.length; group++) {
+            result.put(users[group], latest[group]);
+        }
+        return result;
+    }
+
+    /**
+     * Grobe Schätzung des Heap-Verbrauchs der Arrays in Bytes.
+     */
+    public long estimatedBytes() {
+        long bytes = (long) ids.length * Integer.BYTES
+                + (long) userIds.length * Integer.BYTES
+                + (long) createdAt.length * Long.BYTES
+                + (long) users.length * Integer.BYTES
+                + (long) userGroups.length * Integer.BYTES
+                + titles.estimatedBytes();
+        if (contents != null) {
+            bytes += contents.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    private IntStream rows() {
+        return IntStream.range(0, size).parallel();
+    }
+
+    @Override
+    public String toString() {
+        return "PostSnapshot{" +
+                "size=" + size +
+                ", userCount=" + users.length +
+                ", hasContent=" + hasContent() +
+                ", estimatedBytes=" + estimatedBytes() +
+                '}';
+    }
+
+    /**
+     * Fork-Join-Task für groupByUser: teilt den Zeilenbereich, bis er klein genug ist,
+     * aggregiert jeden Teil in ein eigenes Array und führt die Teilergebnisse zusammen.
+     */
+    private final class GroupByUserTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntPredicate rowFilter;
+        private final IntToLongFunction value;
+        private final LongBinaryOperator combine;
+        private final long identity;
+        private final int from;
+        private final int to;
+
+        GroupByUserTask(IntPredicate rowFilter, IntToLongFunction value,
+                        LongBinaryOperator combine, long identity, int from, int to) {
+            this.rowFilter = rowFilter;
+            this.value = value;
+            this.combine = combine;
+            this.identity = identity;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            int threshold = Math.max(MIN_CHUNK, size / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            if (to - from <= threshold) {
+                long[] acc = new long[users.length];
+                Arrays.fill(acc, identity);
+                for (int row = from; row < to; row++) {
+                    if (rowFilter.test(row)) {
+                        int group = userGroups[row];
+                        acc[group] = combine.applyAsLong(acc[group], value.applyAsLong(row));
+                    }
+                }
+                return acc;
+            }
+
+            int mid = (from + to) >>> 1;
+            GroupByUserTask left = new GroupByUserTask(rowFilter, value, combine, identity, from, mid);
+            GroupByUserTask right = new GroupByUserTask(rowFilter, value, combine, identity, mid, to);
+            left.fork();
+            long[] result = right.compute();
+            long[] other = left.join();
+            for (int i = 0; i < result.length; i++) {
+                result[i] = combine.applyAsLong(result[i], other[i]);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Strings als UTF-8-Bytes hintereinander in einem Array; offsets[i] bis offsets[i + 1]
+     * ist der i-te String. Ein negativer Start (-1 - offset) markiert NULL.
+     */
+    private static final class PackedStrings {
+        private final byte[] data;
+        private final int[] offsets;
+
+        PackedStrings(byte[] data, int[] offsets) {
+            this.data = data;
+            this.offsets = offsets;
+        }
+
+        String get(int row) {
+            int start = offsets[row];
+            if (start < 0) {
+                return null;
+            }
+            int end = offsets[row + 1];
+            if (end < 0) {
+                end = -1 - end;
+            }
+            return new String(data, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        long estimatedBytes() {
+            return data.length + (long) offsets.length * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Baut einen Schnappschuss zeilenweise auf. Die Arrays wachsen bei Bedarf
+     * und werden in {@link #build()} auf die tatsächliche Größe gekürzt.
+     * Nicht threadsicher.
+     */
+    public static class Builder {
+        private final boolean withContent;
+        private int size;
+        private int[] ids;
+        private int[] userIds;
+        private long[] createdAt;
+        private final StringColumn titles;
+        private final StringColumn contents;
+
+        /**
+         * @param withContent true, wenn auch der Inhalt der Posts gespeichert werden soll
+         * @param expectedRows erwartete Zeilenzahl (nur zur Vorbelegung)
+         */
+        public Builder(boolean withContent, int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            this.withContent = withContent;
+            this.ids = new int[capacity];
+            this.userIds = new int[capacity];
+            this.createdAt = new long[capacity];
+            this.titles = new StringColumn(capacity, capacity * 32);
+            this.contents = withContent ? new StringColumn(capacity, capacity * 256) : null;
+        }
+
+        public Builder add(int id, int userId, Timestamp created, String title, String content) {
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                userIds = Arrays.copyOf(userIds, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+            }
+            ids[size] = id;
+            userIds[size] = userId;
+            createdAt[size] = created == null ? NO_TIMESTAMP : created.getTime();
+            titles.add(title);
+            if (withContent) {
+                contents.add(content);
+            }
+            size++;
+            return this;
+        }
+
+        public PostSnapshot build() {
+            int[] rowUserIds = Arrays.copyOf(userIds, size);
+
+            // User-IDs einmal auf dichte Gruppenindizes abbilden
+            int[] users = rowUserIds.clone();
+            Arrays.parallelSort(users);
+            int distinct = 0;
+            for (int i = 0; i < users.length; i++) {
+                if (i == 0 || users[i] != users[distinct - 1]) {
+                    users[distinct++] = users[i];
+                }
+            }
+            users = Arrays.copyOf(users, distinct);
+
+            int[] groups = new int[size];
+            int[] sortedUsers = users;
+            Arrays.parallelSetAll(groups, row -> Arrays.binarySearch(sortedUsers, rowUserIds[row]));
+
+            return new PostSnapshot(
+                    size,
+                    Arrays.copyOf(ids, size),
+                    rowUserIds,
+                    Arrays.copyOf(createdAt, size),
+                    titles.build(),
+                    withContent ? contents.build() : null,
+                    users,
+                    groups
+            );
+        }
+    }
+
+    /**
+     * Wachsende Textspalte für den Builder.
+     */
+    private static final class StringColumn {
+        private byte[] data;
+        private int length;
+        private int[] offsets;
+        private int count;
+
+        StringColumn(int rows, int bytes) {
+            this.data = new byte[Math.max(64, bytes)];
+            this.offsets = new int[rows + 1];
+        }
+
+        void add(String value) {
+            if (count + 1 == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length + (offsets.length >> 1));
+            }
+            if (value == null) {
+                // NULL: leerer Bereich mit negativ kodiertem Start
+                offsets[count] = -1 - length;
+                offsets[++count] = length;
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if ((long) length + bytes.length > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Textspalte des Snapshots überschreitet 2 GB.");
+            }
+            if (length + bytes.length > data.length) {
+                long grown = Math.max((long) length + bytes.length, (long) data.length + (data.length >> 1));
+                data = Arrays.copyOf(data, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+            }
+            System.arraycopy(bytes, 0, data, length, bytes.length);
+            offsets[count] = length;
+            length += bytes.length;
+            offsets[++count] = length;
+        }
+
+        PackedStrings build() {
+            return new PackedStrings(Arrays.copyOf(data, length), Arrays.copyOf(offsets, count + 1));
+        }
+    }
+}
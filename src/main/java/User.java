@@ -5,7 +5,7 @@ import java.util.Objects;
  * Repräsentiert einen Benutzer in der Datenbank.
  *
  * Felder:
- * - id: Primärschlüssel in der Datenbank (AUTO_INCREMENT)
+ * - id: Primärschlüssel in der Datenbank (vergeben vom IdAllocator)
  * - username: Benutzername (eindeutig)
  * - email: E-Mail-Adresse
  * - password: Passwort (sollte gehasht gespeichert werden!)
@@ -28,7 +28,7 @@ public class User {
 
     /**
      * Konstruktor ohne ID (für neue User vor dem Insert)
-     * Die ID wird nach dem Insert automatisch von der Datenbank generiert.
+     * Die ID wird von UserDAO.create() vor dem Insert über den IdAllocator vergeben und gesetzt.
      */
     public User(String username, String email, String password) {
         this(0, username, email, password);
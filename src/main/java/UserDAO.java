@@ -11,22 +11,71 @@ import java.util.logging.Logger;
 public class UserDAO {
     private static final Logger logger = Logger.getLogger(UserDAO.class.getName());
 
+    // Gemeinsamer ID-Allocator aller UserDAOs dieses Prozesses
+    private static final IdAllocator SHARED_IDS = new IdAllocator(
+            "user", "SELECT COALESCE(MAX(id), 0) FROM user", IdAllocator.defaultBlockSize());
+
+    private final AdmissionControl admission;
+    private final IdAllocator ids;
+
+    /**
+     * Erstellt das DAO mit der gemeinsamen Admission Control.
+     */
+    public UserDAO() {
+        this(AdmissionControl.shared());
+    }
+
+    /**
+     * Erstellt das DAO mit einer eigenen Admission Control (Limits und Timeouts).
+     *
+     * @param admission Admission Control für alle Operationen dieses DAOs
+     */
+    public UserDAO(AdmissionControl admission) {
+        this(admission, SHARED_IDS);
+    }
+
+    /**
+     * Erstellt das DAO mit eigener Admission Control und eigenem ID-Allocator.
+     *
+     * @param admission Admission Control für alle Operationen dieses DAOs
+     * @param ids Allocator für neue User-IDs
+     */
+    public UserDAO(AdmissionControl admission, IdAllocator ids) {
+        this.admission = admission;
+        this.ids = ids;
+    }
+
+    /**
+     * Gibt die ungenutzten IDs des gemeinsamen Allocators zurück. Sollte beim
+     * Beenden des Prozesses aufgerufen werden, sonst verfällt der Rest des Blocks.
+     *
+     * @throws SQLException falls die IDs nicht zurückgegeben werden können
+     */
+    public static void releaseSharedIds() throws SQLException {
+        SHARED_IDS.close();
+    }
+
     /**
      * Fügt einen neuen User in die Datenbank ein.
-     * Die generierte ID wird automatisch im User-Objekt gesetzt.
+     * Die ID wird vorab vom {@link IdAllocator} vergeben und im User-Objekt gesetzt.
      *
-     * @param user Das User-Objekt (ID wird ignoriert und neu generiert)
+     * @param user Das User-Objekt (ID wird ignoriert und neu vergeben)
      * @throws SQLException falls ein SQL-Fehler auftritt
      */
     public void create(User user) throws SQLException {
-        String sql = "INSERT INTO user (username, email, password) VALUES (?, ?, ?)";
+        String sql = "INSERT INTO user (id, username, email, password) VALUES (?, ?, ?, ?)";
 
-        try (Connection con = DatabaseConnection.connect();
-             PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect();
+             PreparedStatement ps = con.prepareStatement(sql)) {
 
-            ps.setString(1, user.getUsername());
-            ps.setString(2, user.getEmail());
-            ps.setString(3, user.getPassword());
+            permit.applyTimeout(ps);
+
+            int id = ids.nextInt();
+            ps.setInt(1, id);
+            ps.setString(2, user.getUsername());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getPassword());
 
             int affectedRows = ps.executeUpdate();
 
@@ -34,15 +83,8 @@ public class UserDAO {
                 throw new SQLException("User konnte nicht erstellt werden, keine Zeilen wurden eingefügt.");
             }
 
-            // Generierte ID abrufen und im User-Objekt setzen
-            try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    user.setId(generatedKeys.getInt(1));
-                    logger.log(Level.INFO, "User erstellt mit ID: {0}", user.getId());
-                } else {
-                    throw new SQLException("User wurde erstellt, aber keine ID wurde zurückgegeben.");
-                }
-            }
+            user.setId(id);
+            logger.log(Level.INFO, "User erstellt mit ID: {0}", user.getId());
         }
     }
 
@@ -56,9 +98,12 @@ public class UserDAO {
     public User findById(int id) throws SQLException {
         String sql = "SELECT * FROM user WHERE id = ?";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            permit.applyTimeout(ps);
+
             ps.setInt(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
@@ -85,9 +130,12 @@ public class UserDAO {
     public User findByUsername(String username) throws SQLException {
         String sql = "SELECT * FROM user WHERE username = ?";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            permit.applyTimeout(ps);
+
             ps.setString(1, username);
 
             try (ResultSet rs = ps.executeQuery()) {
@@ -114,17 +162,21 @@ public class UserDAO {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM user ORDER BY id";
 
-        try (Connection con = DatabaseConnection.connect();
-             Statement st = con.createStatement();
-             ResultSet rs = st.executeQuery(sql)) {
-
-            while (rs.next()) {
-                users.add(new User(
-                        rs.getInt("id"),
-                        rs.getString("username"),
-                        rs.getString("email"),
-                        rs.getString("password")
-                ));
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
+             Statement st = con.createStatement()) {
+
+            permit.applyTimeout(st);
+
+            try (ResultSet rs = st.executeQuery(sql)) {
+                while (rs.next()) {
+                    users.add(new User(
+                            rs.getInt("id"),
+                            rs.getString("username"),
+                            rs.getString("email"),
+                            rs.getString("password")
+                    ));
+                }
             }
         }
 
@@ -141,9 +193,12 @@ public class UserDAO {
     public void update(User user) throws SQLException {
         String sql = "UPDATE user SET username=?, email=?, password=? WHERE id=?";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            permit.applyTimeout(ps);
+
             ps.setString(1, user.getUsername());
             ps.setString(2, user.getEmail());
             ps.setString(3, user.getPassword());
@@ -162,6 +217,7 @@ public class UserDAO {
     /**
      * Löscht einen User anhand der ID.
      * Achtung: Durch CASCADE werden auch alle zugehörigen Posts gelöscht!
+     * Für User mit sehr vielen Posts {@link UserPurger} verwenden, der in kleinen Blöcken löscht.
      *
      * @param id ID des Users
      * @throws SQLException falls ein SQL-Fehler auftritt
@@ -169,9 +225,12 @@ public class UserDAO {
     public void delete(int id) throws SQLException {
         String sql = "DELETE FROM user WHERE id=?";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            permit.applyTimeout(ps);
+
             ps.setInt(1, id);
             int affectedRows = ps.executeUpdate();
 
@@ -193,9 +252,12 @@ public class UserDAO {
     public boolean usernameExists(String username) throws SQLException {
         String sql = "SELECT COUNT(*) FROM user WHERE username = ?";
 
-        try (Connection con = DatabaseConnection.connect();
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
              PreparedStatement ps = con.prepareStatement(sql)) {
 
+            permit.applyTimeout(ps);
+
             ps.setString(1, username);
 
             try (ResultSet rs = ps.executeQuery()) {
@@ -0,0 +1,326 @@
+import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Löscht User samt ihrer Posts in kleinen, gedrosselten Schritten.
+ *
+ * Statt eines einzigen DELETE (bzw. ON DELETE CASCADE) werden die Posts eines Users
+ * (zuerst aus "post", dann aus dem Archiv) in Blöcken von chunkSize Zeilen gelöscht, jeder Block in einer eigenen kurzen
+ * Transaktion. Der User selbst wird erst ganz am Ende gelöscht.
+ *
+ * Der Fortschritt steht in der Tabelle "user_purge" und wird in derselben Transaktion
+ * wie der jeweilige Block aktualisiert. Nach einem Absturz oder einem abgelaufenen
+ * Zeitbudget setzt {@link #resumePending(Duration)} die offenen Purges fort.
+ *
+ * <pre>
+ * CREATE TABLE IF NOT EXISTS user_purge (
+ *     user_id INT PRIMARY KEY,
+ *     status VARCHAR(16) NOT NULL,
+ *     deleted_posts BIGINT NOT NULL DEFAULT 0,
+ *     started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+ *     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+ * )
+ * </pre>
+ */
+public class UserPurger {
+    private static final Logger logger = Logger.getLogger(UserPurger.class.getName());
+
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_DONE = "DONE";
+
+    /**
+     * Wird nach jedem gelöschten Block aufgerufen.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int userId, long deletedPosts, boolean userDeleted);
+    }
+
+    private final AdmissionControl admission;
+    private final int chunkSize;
+    private final long pauseMillis;
+    private final ProgressListener listener;
+    private volatile boolean schemaReady;
+
+    /**
+     * @param admission Admission Control (jeder Block läuft als WRITE-Operation)
+     * @param chunkSize maximale Anzahl Posts pro Transaktion
+     * @param pauseMillis Pause zwischen zwei Blöcken (Drosselung), 0 = keine Pause
+     * @param listener Empfänger der Fortschrittsmeldungen, darf null sein
+     */
+    public UserPurger(AdmissionControl admission, int chunkSize, long pauseMillis, ProgressListener listener) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize muss mindestens 1 sein: " + chunkSize);
+        }
+        this.admission = admission;
+        this.chunkSize = chunkSize;
+        this.pauseMillis = Math.max(0, pauseMillis);
+        this.listener = listener;
+    }
+
+    /**
+     * Purger mit gemeinsamer Admission Control, 1000 Posts pro Block und 50 ms Pause.
+     */
+    public UserPurger() {
+        this(AdmissionControl.shared(), 1000, 50, null);
+    }
+
+    /**
+     * Löscht einen User und alle seine Posts.
+     *
+     * @param userId die User-ID
+     * @param budget maximale Laufzeit, null = unbegrenzt
+     * @return Ergebnis; bei abgelaufenem Budget ist isCompleted() false
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public Result purge(int userId, Duration budget) throws SQLException {
+        return purgeAll(List.of(userId), budget);
+    }
+
+    /**
+     * Löscht mehrere User nacheinander. Das Zeitbudget gilt für alle zusammen.
+     *
+     * @param userIds die User-IDs
+     * @param budget maximale Laufzeit, null = unbegrenzt
+     * @return Ergebnis; bei abgelaufenem Budget ist isCompleted() false
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public Result purgeAll(List<Integer> userIds, Duration budget) throws SQLException {
+        ensureSchema();
+        long deadline = budget == null ? Long.MAX_VALUE : System.nanoTime() + budget.toNanos();
+        Result result = new Result();
+
+        for (int userId : userIds) {
+            if (!purgeUser(userId, deadline, result)) {
+                logger.log(Level.INFO, "Zeitbudget erschöpft, Purge von User-ID {0} wird später fortgesetzt", userId);
+                return result;
+            }
+        }
+
+        result.completed = true;
+        return result;
+    }
+
+    /**
+     * Setzt alle unterbrochenen Purges fort (z.B. nach einem Absturz).
+     *
+     * @param budget maximale Laufzeit, null = unbegrenzt
+     * @return Ergebnis; bei abgelaufenem Budget ist isCompleted() false
+     * @throws SQLException falls ein SQL-Fehler auftritt
+     */
+    public Result resumePending(Duration budget) throws SQLException {
+        ensureSchema();
+        List<Integer> pending = new ArrayList<>();
+        String sql = "SELECT user_id FROM user_purge WHERE status = ? ORDER BY started_at";
+
+        try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.READ);
+             Connection con = DatabaseConnection.connect();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+
+            permit.applyTimeout(ps);
+            ps.setString(1, STATUS_RUNNING);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    pending.add(rs.getInt("user_id"));
+                }
+            }
+        }
+
+        logger.log(Level.INFO, "{0} unterbrochene Purges gefunden", pending.size());
+        return purgeAll(pending, budget);
+    }
+
+    /**
+     * @return true, wenn der User vollständig gelöscht wurde; false bei abgelaufenem Budget
+     */
+    private boolean purgeUser(int userId, long deadline, Result result) throws SQLException {
+        try (Connection con = DatabaseConnection.connect()) {
+            PostArchiver.ensureArchiveTable(con);
+            long deletedPosts = startOrResume(con, userId);
+
+            while (true) {
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+
+                AdmissionControl.Permit permit = admission.acquireOrPause(AdmissionControl.Operation.WRITE, pauseMillis);
+                if (permit == null) {
+                    continue;
+                }
+                int deleted;
+                try (permit) {
+                    deleted = deleteChunk(con, permit, userId);
+                }
+
+                if (deleted == 0) {
+                    break;
+                }
+                deletedPosts += deleted;
+                result.deletedPosts += deleted;
+                notifyProgress(userId, deletedPosts, false);
+                AdmissionControl.pause(pauseMillis);
+            }
+
+            try (AdmissionControl.Permit permit = admission.acquire(AdmissionControl.Operation.WRITE)) {
+                finish(con, permit, userId);
+            }
+            result.purgedUsers++;
+            notifyProgress(userId, deletedPosts, true);
+            logger.log(Level.INFO, "User-ID {0} mit {1} Posts gelöscht", new Object[]{userId, deletedPosts});
+            return true;
+        }
+    }
+
+    /**
+     * Legt den Fortschrittseintrag an oder liest den bisherigen Stand.
+     */
+    private long startOrResume(Connection con, int userId) throws SQLException {
+        // Ein erneuter Purge nach einem abgeschlossenen beginnt wieder bei 0 und mit neuem Startzeitpunkt.
+        // MySQL wertet die Zuweisungen von links nach rechts aus, status muss daher zuletzt gesetzt werden.
+        String sql = "INSERT INTO user_purge (user_id, status) VALUES (?, ?) "
+                + "ON DUPLICATE KEY UPDATE deleted_posts = IF(status = 'DONE', 0, deleted_posts), "
+                + "started_at = IF(status = 'DONE', CURRENT_TIMESTAMP, started_at), "
+                + "status = VALUES(status)";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setInt(1, userId);
+            ps.setString(2, STATUS_RUNNING);
+            ps.executeUpdate();
+        }
+
+        try (PreparedStatement ps = con.prepareStatement("SELECT deleted_posts FROM user_purge WHERE user_id = ?")) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Löscht einen Block Posts und aktualisiert den Fortschritt in einer Transaktion.
+     * Zuerst aus "post", danach aus dem Archiv.
+     */
+    private int deleteChunk(Connection con, AdmissionControl.Permit permit, int userId) throws SQLException {
+        con.setAutoCommit(false);
+        try (PreparedStatement delete = con.prepareStatement(
+                     "DELETE FROM post WHERE user_id = ? ORDER BY id LIMIT ?");
+             PreparedStatement deleteArchived = con.prepareStatement(
+                     "DELETE FROM " + PostArchiver.ARCHIVE_TABLE + " WHERE user_id = ? ORDER BY id LIMIT ?");
+             PreparedStatement progress = con.prepareStatement(
+                     "UPDATE user_purge SET deleted_posts = deleted_posts + ? WHERE user_id = ?")) {
+
+            permit.applyTimeout(delete);
+            delete.setInt(1, userId);
+            delete.setInt(2, chunkSize);
+            int deleted = delete.executeUpdate();
+
+            if (deleted == 0) {
+                permit.applyTimeout(deleteArchived);
+                deleteArchived.setInt(1, userId);
+                deleteArchived.setInt(2, chunkSize);
+                deleted = deleteArchived.executeUpdate();
+            }
+
+            if (deleted > 0) {
+                progress.setInt(1, deleted);
+                progress.setInt(2, userId);
+                progress.executeUpdate();
+            }
+
+            con.commit();
+            return deleted;
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Löscht den User selbst und markiert den Purge als abgeschlossen.
+     */
+    private void finish(Connection con, AdmissionControl.Permit permit, int userId) throws SQLException {
+        con.setAutoCommit(false);
+        try (PreparedStatement delete = con.prepareStatement("DELETE FROM user WHERE id = ?");
+             PreparedStatement done = con.prepareStatement("UPDATE user_purge SET status = ? WHERE user_id = ?")) {
+
+            permit.applyTimeout(delete);
+            delete.setInt(1, userId);
+            delete.executeUpdate();
+
+            done.setString(1, STATUS_DONE);
+            done.setInt(2, userId);
+            done.executeUpdate();
+
+            con.commit();
+        } catch (SQLException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+    private void ensureSchema() throws SQLException {
+        if (schemaReady) {
+            return;
+        }
+        String sql = "CREATE TABLE IF NOT EXISTS user_purge ("
+                + "user_id INT PRIMARY KEY, "
+                + "status VARCHAR(16) NOT NULL, "
+                + "deleted_posts BIGINT NOT NULL DEFAULT 0, "
+                + "started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+                + "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)";
+
+        try (Connection con = DatabaseConnection.connect();
+             Statement st = con.createStatement()) {
+            st.executeUpdate(sql);
+        }
+        schemaReady = true;
+    }
+
+    private void notifyProgress(int userId, long deletedPosts, boolean userDeleted) {
+        if (listener != null) {
+            listener.onProgress(userId, deletedPosts, userDeleted);
+        }
+    }
+
+
+    /**
+     * Ergebnis eines Purge-Laufs.
+     */
+    public static class Result {
+        private int purgedUsers;
+        private long deletedPosts;
+        private boolean completed;
+
+        public int getPurgedUsers() {
+            return purgedUsers;
+        }
+
+        public long getDeletedPosts() {
+            return deletedPosts;
+        }
+
+        /**
+         * @return true, wenn alle angefragten User gelöscht wurden
+         */
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "purgedUsers=" + purgedUsers +
+                    ", deletedPosts=" + deletedPosts +
+                    ", completed=" + completed +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Erzeugt Zipf-verteilte Ränge im Bereich [0, n) nach Gray et al.
+ * ("Quickly Generating Billion-Record Synthetic Databases"), wie im YCSB-Benchmark.
+ *
+ * Rang 0 ist der häufigste Schlüssel. Damit die heißen Schlüssel nicht alle
+ * nebeneinander liegen (z.B. die ältesten IDs), wird der Rang über eine einmalig
+ * gemischte Permutation auf einen Schlüsselindex abgebildet.
+ *
+ * Nach dem Erstellen unveränderlich und damit threadsicher.
+ */
+public class ZipfianGenerator {
+
+    private final int n;
+    private final double theta;
+    private final double alpha;
+    private final double zetaN;
+    private final double eta;
+    private final int[] permutation;
+
+    /**
+     * @param n Anzahl der Schlüssel
+     * @param theta Schiefe der Verteilung (0 &lt; theta &lt; 1, YCSB-Standard 0.99)
+     * @param seed Seed für die Permutation der Schlüssel
+     */
+    public ZipfianGenerator(int n, double theta, long seed) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Mindestens ein Schlüssel nötig: " + n);
+        }
+        if (theta <= 0 || theta >= 1) {
+            throw new IllegalArgumentException("theta muss zwischen 0 und 1 liegen: " + theta);
+        }
+        this.n = n;
+        this.theta = theta;
+        this.alpha = 1.0 / (1.0 - theta);
+        this.zetaN = zeta(n, theta);
+        double zeta2 = zeta(2, theta);
+        this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetaN);
+
+        this.permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+    }
+
+    /**
+     * @return nächster Schlüsselindex im Bereich [0, n)
+     */
+    public int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        double uz = u * zetaN;
+        int rank;
+        if (uz < 1.0) {
+            rank = 0;
+        } else if (uz < 1.0 + Math.pow(0.5, theta)) {
+            rank = 1;
+        } else {
+            rank = (int) (n * Math.pow(eta * u - eta + 1, alpha));
+        }
+        return permutation[Math.min(rank, n - 1)];
+    }
+
+    public int size() {
+        return n;
+    }
+
+    private static double zeta(int n, double theta) {
+        double sum = 0;
+        for (int i = 1; i <= n; i++) {
+            sum += 1.0 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}